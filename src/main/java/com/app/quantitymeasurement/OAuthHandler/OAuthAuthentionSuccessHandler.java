@@ -1,5 +1,6 @@
 package com.app.quantitymeasurement.OAuthHandler;
 
+import com.app.quantitymeasurement.cache.UserDetailsCache;
 import com.app.quantitymeasurement.model.User;
 import com.app.quantitymeasurement.repository.UserRepo;
 import com.app.quantitymeasurement.service.JWTService;
@@ -26,6 +27,7 @@ public class OAuthAuthentionSuccessHandler implements AuthenticationSuccessHandl
     private final JWTService jwtService;
     private final UserRepo userRepo;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request,
                                         HttpServletResponse response,
@@ -43,6 +45,7 @@ public class OAuthAuthentionSuccessHandler implements AuthenticationSuccessHandl
             user.setEmail(email);
             user.setName(name);
             userRepo.save(user);
+            userDetailsCache.invalidate(email);
         }
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(email);
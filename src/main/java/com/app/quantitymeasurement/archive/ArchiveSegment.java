@@ -0,0 +1,293 @@
+package com.app.quantitymeasurement.archive;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.app.quantitymeasurement.dto.HistoryCursor;
+import com.app.quantitymeasurement.dto.OperationCountView;
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
+
+/**
+ * One immutable, memory-mapped file of archived audit rows, newest first.
+ *
+ * Rows are cut into blocks of BLOCK_ROWS and stored column by column within each block. Every
+ * string (units, types, operations, results, messages) is a fixed-width code into one dictionary
+ * per segment, so the operation and type filters compare ints straight off the mapping and a
+ * value missing from the dictionary skips the whole segment. id and created_at are zigzag varint
+ * deltas, the three values are XORed with the previous row's bits and stored without their zero
+ * bytes, and is_error is a bitset. Each block restarts its deltas, so a scan decodes only blocks
+ * past the cursor that hold a match.
+ *
+ * Layout: MAGIC, row count, block count, code width, dictionary size; the dictionary as
+ * (length, UTF-8 bytes); per block the newest and oldest (created_at, id), its row count and the
+ * file offset of each column; then the column data.
+ */
+public final class ArchiveSegment {
+    static final int MAGIC = 0x514D4131; // "QMA1"
+    static final int BLOCK_ROWS = 1024;
+
+    static final int ID = 0;
+    static final int CREATED_AT = 1;
+    static final int IS_ERROR = 2;
+    static final int OPERATION = 3;
+    static final int THIS_TYPE = 4;
+    static final int THIS_UNIT = 5;
+    static final int THIS_VALUE = 6;
+    static final int THAT_UNIT = 7;
+    static final int THAT_TYPE = 8;
+    static final int THAT_VALUE = 9;
+    static final int RESULT_STRING = 10;
+    static final int RESULT_VALUE = 11;
+    static final int RESULT_UNIT = 12;
+    static final int RESULT_TYPE = 13;
+    static final int ERROR_MESSAGE = 14;
+    static final int COLUMN_COUNT = 15;
+
+    static final int[] STRING_COLUMNS = {
+            OPERATION, THIS_TYPE, THIS_UNIT, THAT_UNIT, THAT_TYPE, RESULT_STRING, RESULT_UNIT, RESULT_TYPE, ERROR_MESSAGE};
+
+    static final int HEADER_BYTES = 5 * Integer.BYTES;
+    static final int BLOCK_INDEX_BYTES = 4 * Long.BYTES + Integer.BYTES + COLUMN_COUNT * Integer.BYTES;
+
+    // The order of the history endpoints, and of the (created_at, id) cursor
+    public static final Comparator<QuantityMeasurementView> NEWEST_FIRST =
+            Comparator.comparing(QuantityMeasurementView::createdAt)
+                    .thenComparing(QuantityMeasurementView::id)
+                    .reversed();
+
+    // Which rows a scan returns
+    public enum Match { OPERATION, MEASUREMENT_TYPE, ERROR }
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final int codeWidth;
+    private final String[] dictionary;
+    private final Map<String, Integer> codes;
+
+    // per block
+    private final long[] newestCreatedAt;
+    private final long[] newestId;
+    private final long[] oldestCreatedAt;
+    private final long[] oldestId;
+    private final int[] blockRows;
+    private final int[][] offsets;
+
+    private final List<OperationCountView> counts;
+
+    private ArchiveSegment(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+
+        int position = 0;
+        if (buffer.getInt(position) != MAGIC) {
+            throw new IllegalStateException("Not an archive segment: " + file);
+        }
+        rowCount = buffer.getInt(position + 4);
+        int blockCount = buffer.getInt(position + 8);
+        codeWidth = buffer.getInt(position + 12);
+        int dictionarySize = buffer.getInt(position + 16);
+        position += HEADER_BYTES;
+
+        dictionary = new String[dictionarySize + 1];
+        codes = new HashMap<>(dictionarySize * 2);
+        for (int code = 1; code <= dictionarySize; code++) {
+            int length = buffer.getInt(position);
+            byte[] bytes = new byte[length];
+            buffer.get(position + Integer.BYTES, bytes);
+            dictionary[code] = new String(bytes, StandardCharsets.UTF_8);
+            codes.put(dictionary[code], code);
+            position += Integer.BYTES + length;
+        }
+
+        newestCreatedAt = new long[blockCount];
+        newestId = new long[blockCount];
+        oldestCreatedAt = new long[blockCount];
+        oldestId = new long[blockCount];
+        blockRows = new int[blockCount];
+        offsets = new int[blockCount][COLUMN_COUNT];
+        for (int block = 0; block < blockCount; block++) {
+            newestCreatedAt[block] = buffer.getLong(position);
+            newestId[block] = buffer.getLong(position + 8);
+            oldestCreatedAt[block] = buffer.getLong(position + 16);
+            oldestId[block] = buffer.getLong(position + 24);
+            blockRows[block] = buffer.getInt(position + 32);
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                offsets[block][column] = buffer.getInt(position + 36 + column * Integer.BYTES);
+            }
+            position += BLOCK_INDEX_BYTES;
+        }
+
+        counts = countOperations();
+    }
+
+    public static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new ArchiveSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public HistoryCursor newest() {
+        return new HistoryCursor(dateTime(newestCreatedAt[0]), newestId[0]);
+    }
+
+    public HistoryCursor oldest() {
+        int last = blockRows.length - 1;
+        return new HistoryCursor(dateTime(oldestCreatedAt[last]), oldestId[last]);
+    }
+
+    // Rows per (operation, isError), counted once when the segment is opened
+    public List<OperationCountView> counts() {
+        return counts;
+    }
+
+    /**
+     * Appends up to limit rows matching value (ignored for ERROR) to out, newest first and
+     * strictly older than after, or from the newest row when after is null.
+     */
+    public void scan(Match match, String value, HistoryCursor after, int limit, List<QuantityMeasurementView> out) {
+        int code = 0;
+        int column = match == Match.OPERATION ? OPERATION : THIS_TYPE;
+        if (match != Match.ERROR) {
+            Integer found = codes.get(value);
+            if (found == null) return;
+            code = found;
+        }
+        long afterCreatedAt = after == null ? Long.MAX_VALUE : nanos(after.createdAt());
+        long afterId = after == null ? Long.MAX_VALUE : after.id();
+
+        long[] ids = new long[BLOCK_ROWS];
+        long[] createdAt = new long[BLOCK_ROWS];
+        double[][] values = null;
+        int remaining = limit;
+
+        for (int block = 0; block < blockRows.length && remaining > 0; block++) {
+            // every row of the block is at or newer than the cursor
+            if (!olderThan(oldestCreatedAt[block], oldestId[block], afterCreatedAt, afterId)) continue;
+
+            decodeDeltas(block, ID, ids);
+            decodeDeltas(block, CREATED_AT, createdAt);
+            boolean valuesDecoded = false;
+
+            for (int row = 0; row < blockRows[block] && remaining > 0; row++) {
+                if (!olderThan(createdAt[row], ids[row], afterCreatedAt, afterId)) continue;
+                if (match == Match.ERROR ? !isError(block, row) : code(block, column, row) != code) continue;
+
+                if (!valuesDecoded) {
+                    if (values == null) values = new double[3][BLOCK_ROWS];
+                    decodeValues(block, THIS_VALUE, values[0]);
+                    decodeValues(block, THAT_VALUE, values[1]);
+                    decodeValues(block, RESULT_VALUE, values[2]);
+                    valuesDecoded = true;
+                }
+                out.add(new QuantityMeasurementView(
+                        ids[row], dateTime(createdAt[row]),
+                        values[0][row], string(block, THIS_UNIT, row), string(block, THIS_TYPE, row),
+                        values[1][row], string(block, THAT_UNIT, row), string(block, THAT_TYPE, row),
+                        string(block, OPERATION, row), string(block, RESULT_STRING, row),
+                        values[2][row], string(block, RESULT_UNIT, row), string(block, RESULT_TYPE, row),
+                        string(block, ERROR_MESSAGE, row), isError(block, row)));
+                remaining--;
+            }
+        }
+    }
+
+    private List<OperationCountView> countOperations() {
+        long[][] byCode = new long[dictionary.length][2];
+        for (int block = 0; block < blockRows.length; block++) {
+            for (int row = 0; row < blockRows[block]; row++) {
+                byCode[code(block, OPERATION, row)][isError(block, row) ? 1 : 0]++;
+            }
+        }
+        List<OperationCountView> result = new ArrayList<>();
+        for (int code = 1; code < byCode.length; code++) {
+            if (byCode[code][0] > 0) result.add(new OperationCountView(dictionary[code], false, byCode[code][0]));
+            if (byCode[code][1] > 0) result.add(new OperationCountView(dictionary[code], true, byCode[code][1]));
+        }
+        return result;
+    }
+
+    private static boolean olderThan(long createdAt, long id, long afterCreatedAt, long afterId) {
+        return createdAt < afterCreatedAt || (createdAt == afterCreatedAt && id < afterId);
+    }
+
+    private boolean isError(int block, int row) {
+        return (buffer.get(offsets[block][IS_ERROR] + (row >>> 3)) & (1 << (row & 7))) != 0;
+    }
+
+    private int code(int block, int column, int row) {
+        int position = offsets[block][column] + row * codeWidth;
+        return switch (codeWidth) {
+            case 1 -> buffer.get(position) & 0xFF;
+            case 2 -> buffer.getShort(position) & 0xFFFF;
+            default -> buffer.getInt(position);
+        };
+    }
+
+    private String string(int block, int column, int row) {
+        return dictionary[code(block, column, row)];
+    }
+
+    private void decodeDeltas(int block, int column, long[] out) {
+        int position = offsets[block][column];
+        long value = 0;
+        for (int row = 0; row < blockRows[block]; row++) {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += (zigzag >>> 1) ^ -(zigzag & 1);
+            out[row] = value;
+        }
+    }
+
+    private void decodeValues(int block, int column, double[] out) {
+        int position = offsets[block][column];
+        long bits = 0;
+        for (int row = 0; row < blockRows[block]; row++) {
+            int header = buffer.get(position++) & 0xFF;
+            int leading = header >>> 4;
+            int trailing = header & 0x0F;
+            long xor = 0;
+            for (int i = leading + trailing; i < 8; i++) {
+                xor = xor << 8 | (buffer.get(position++) & 0xFF);
+            }
+            bits ^= xor << (8 * trailing);
+            out[row] = Double.longBitsToDouble(bits);
+        }
+    }
+
+    // created_at as nanoseconds since the epoch, read as UTC like the column itself carries no zone
+    static long nanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    static LocalDateTime dateTime(long nanos) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(nanos, 1_000_000_000L), (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
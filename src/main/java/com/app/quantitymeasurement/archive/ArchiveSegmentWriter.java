@@ -0,0 +1,170 @@
+package com.app.quantitymeasurement.archive;
+
+import static com.app.quantitymeasurement.archive.ArchiveSegment.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
+
+/**
+ * Encodes audit rows into the segment layout described on {@link ArchiveSegment}.
+ */
+public final class ArchiveSegmentWriter {
+
+    private ArchiveSegmentWriter() {
+    }
+
+    public static void write(Path file, List<QuantityMeasurementView> rows) throws IOException {
+        List<QuantityMeasurementView> sorted = new ArrayList<>(rows);
+        sorted.sort(NEWEST_FIRST);
+
+        // code 0 is null, so a dictionary of n strings needs codes up to n
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        for (QuantityMeasurementView row : sorted) {
+            for (int column : STRING_COLUMNS) {
+                String value = string(row, column);
+                if (value != null) codes.putIfAbsent(value, codes.size() + 1);
+            }
+        }
+        int codeWidth = codes.size() < 0xFF ? 1 : codes.size() < 0xFFFF ? 2 : 4;
+
+        int blockCount = (sorted.size() + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        ByteArrayOutputStream data = new ByteArrayOutputStream(sorted.size() * 32);
+        int[][] offsets = new int[blockCount][COLUMN_COUNT];
+        for (int block = 0; block < blockCount; block++) {
+            List<QuantityMeasurementView> blockRows =
+                    sorted.subList(block * BLOCK_ROWS, Math.min(sorted.size(), (block + 1) * BLOCK_ROWS));
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                offsets[block][column] = data.size();
+                writeColumn(data, blockRows, column, codes, codeWidth);
+            }
+        }
+
+        List<byte[]> dictionary = new ArrayList<>(codes.size());
+        int dictionaryBytes = 0;
+        for (String value : codes.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            dictionary.add(bytes);
+            dictionaryBytes += Integer.BYTES + bytes.length;
+        }
+
+        int headerBytes = HEADER_BYTES + dictionaryBytes + blockCount * BLOCK_INDEX_BYTES;
+        ByteBuffer header = ByteBuffer.allocate(headerBytes);
+        header.putInt(MAGIC).putInt(sorted.size()).putInt(blockCount).putInt(codeWidth).putInt(codes.size());
+        for (byte[] bytes : dictionary) {
+            header.putInt(bytes.length).put(bytes);
+        }
+        for (int block = 0; block < blockCount; block++) {
+            QuantityMeasurementView newest = sorted.get(block * BLOCK_ROWS);
+            QuantityMeasurementView oldest = sorted.get(Math.min(sorted.size(), (block + 1) * BLOCK_ROWS) - 1);
+            header.putLong(nanos(newest.createdAt())).putLong(newest.id())
+                    .putLong(nanos(oldest.createdAt())).putLong(oldest.id())
+                    .putInt(Math.min(BLOCK_ROWS, sorted.size() - block * BLOCK_ROWS));
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                header.putInt(headerBytes + offsets[block][column]);
+            }
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(new ByteBuffer[] {header, ByteBuffer.wrap(data.toByteArray())});
+            channel.force(true);
+        }
+    }
+
+    private static void writeColumn(ByteArrayOutputStream out, List<QuantityMeasurementView> rows, int column,
+                                    Map<String, Integer> codes, int codeWidth) {
+        switch (column) {
+            case ID, CREATED_AT -> {
+                // first row absolute, the rest as deltas from the row before (negative, rows are newest first)
+                long previous = 0;
+                for (QuantityMeasurementView row : rows) {
+                    long value = column == ID ? row.id() : nanos(row.createdAt());
+                    writeVarLong(out, value - previous);
+                    previous = value;
+                }
+            }
+            case IS_ERROR -> {
+                byte[] bits = new byte[(rows.size() + 7) / 8];
+                for (int i = 0; i < rows.size(); i++) {
+                    if (rows.get(i).isError()) bits[i >>> 3] |= (byte) (1 << (i & 7));
+                }
+                out.writeBytes(bits);
+            }
+            case THIS_VALUE, THAT_VALUE, RESULT_VALUE -> {
+                long previous = 0;
+                for (QuantityMeasurementView row : rows) {
+                    long bits = Double.doubleToRawLongBits(number(row, column));
+                    writeXor(out, bits ^ previous);
+                    previous = bits;
+                }
+            }
+            default -> {
+                for (QuantityMeasurementView row : rows) {
+                    String value = string(row, column);
+                    int code = value == null ? 0 : codes.get(value);
+                    for (int shift = (codeWidth - 1) * 8; shift >= 0; shift -= 8) {
+                        out.write(code >>> shift);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) (zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    // One byte of leading/trailing zero-byte counts, then only the bytes in between
+    private static void writeXor(ByteArrayOutputStream out, long xor) {
+        if (xor == 0) {
+            out.write(8 << 4);
+            return;
+        }
+        int leading = Long.numberOfLeadingZeros(xor) >>> 3;
+        int trailing = Long.numberOfTrailingZeros(xor) >>> 3;
+        out.write(leading << 4 | trailing);
+        for (int shift = 56 - 8 * leading; shift >= 8 * trailing; shift -= 8) {
+            out.write((int) (xor >>> shift));
+        }
+    }
+
+    private static String string(QuantityMeasurementView row, int column) {
+        return switch (column) {
+            case OPERATION -> row.operation();
+            case THIS_UNIT -> row.thisUnit();
+            case THIS_TYPE -> row.thisMeasurementType();
+            case THAT_UNIT -> row.thatUnit();
+            case THAT_TYPE -> row.thatMeasurementType();
+            case RESULT_STRING -> row.resultString();
+            case RESULT_UNIT -> row.resultUnit();
+            case RESULT_TYPE -> row.resultMeasurementType();
+            case ERROR_MESSAGE -> row.errorMessage();
+            default -> throw new IllegalArgumentException("Not a string column: " + column);
+        };
+    }
+
+    private static double number(QuantityMeasurementView row, int column) {
+        return switch (column) {
+            case THIS_VALUE -> row.thisValue();
+            case THAT_VALUE -> row.thatValue();
+            case RESULT_VALUE -> row.resultValue();
+            default -> throw new IllegalArgumentException("Not a value column: " + column);
+        };
+    }
+}
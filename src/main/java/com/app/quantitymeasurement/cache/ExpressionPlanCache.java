@@ -0,0 +1,31 @@
+package com.app.quantitymeasurement.cache;
+
+import com.app.quantitymeasurement.expression.ExpressionPlan;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiled expression plans keyed by expression shape. Plans depend only on the unit
+ * definitions, which never change at runtime, so entries do not expire; the cache is only
+ * bounded. Shapes that fail to compile are not cached.
+ */
+@Component
+public class ExpressionPlanCache {
+    private final ExpiringCache<String, ExpressionPlan> plans;
+
+    public ExpressionPlanCache(@Value("${quantity.expression.plan-cache-size:10000}") int size,
+                               MeterRegistry meterRegistry) {
+        this.plans = new ExpiringCache<String, ExpressionPlan>(size).bindTo(meterRegistry, "expression-plans");
+    }
+
+    public ExpressionPlan get(String shape) {
+        ExpressionPlan plan = plans.get(shape);
+        if (plan != null) return plan;
+
+        plan = ExpressionPlan.compile(shape);
+        plans.put(shape, plan, Long.MAX_VALUE);
+        return plan;
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.quantitymeasurement.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * TTL cache in front of UserDetailsService for the JWT filter, so an authenticated request
+ * does not cost a user lookup. Only found users are cached: a user deleted from the table
+ * stops authenticating once its entry expires, i.e. within security.user-cache.ttl-ms.
+ * Login keeps going to UserDetailsService directly.
+ */
+@Slf4j
+@Component
+public class UserDetailsCache {
+    private final UserDetailsService userDetailsService;
+    private final ExpiringCache<String, UserDetails> users;
+    private final long ttlMs;
+
+    public UserDetailsCache(UserDetailsService userDetailsService,
+                            @Value("${security.user-cache.size:10000}") int size,
+                            @Value("${security.user-cache.ttl-ms:60000}") long ttlMs,
+                            MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.users = new ExpiringCache<String, UserDetails>(size).bindTo(meterRegistry, "users");
+        this.ttlMs = ttlMs;
+    }
+
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails user = users.get(username);
+        if (user != null) return user;
+
+        user = userDetailsService.loadUserByUsername(username);
+        users.put(username, user, System.currentTimeMillis() + ttlMs);
+        return user;
+    }
+
+    // Call after a user is created or changed so the next request sees the stored row
+    public void invalidate(String username) {
+        users.invalidate(username);
+        log.debug("Evicted cached user {}", username);
+    }
+}
@@ -0,0 +1,28 @@
+package com.app.quantitymeasurement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "quantity.archive")
+public class ArchiveProperties {
+
+    // Opt-in: segments are local to the node that writes them (see ArchiveServiceImpl)
+    private boolean enabled = false;
+
+    // Absolute path segment files are written to and read back from at startup; required when enabled
+    private String directory;
+
+    // Audit rows older than this are moved out of the table
+    private int maxAgeDays = 90;
+
+    // How often the archiver runs
+    private long intervalMs = 3_600_000;
+
+    // Rows per segment file
+    private int segmentRows = 100_000;
+
+    // Archived rows are deleted from the table this many per transaction
+    private int deleteChunkSize = 1_000;
+}
@@ -0,0 +1,19 @@
+package com.app.quantitymeasurement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "quantity.arithmetic")
+public class ArithmeticProperties {
+
+    public enum Mode {
+        // doubles, every conversion rounded to two decimals
+        DOUBLE,
+        // scaled-long fixed point (see FixedPoint), results rounded once to six decimals
+        EXACT
+    }
+
+    private Mode mode = Mode.DOUBLE;
+}
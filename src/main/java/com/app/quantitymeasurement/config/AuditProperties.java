@@ -0,0 +1,42 @@
+package com.app.quantitymeasurement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "quantity.audit")
+public class AuditProperties {
+
+    public enum Mode {
+        // repository.save on the request thread
+        SYNC,
+        // bounded queue drained by a background flusher
+        WRITE_BEHIND
+    }
+
+    // What record() does when the write-behind queue is full
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        SYNC
+    }
+
+    private Mode mode = Mode.SYNC;
+
+    private int queueCapacity = 10_000;
+
+    private int batchSize = 500;
+
+    private long flushIntervalMs = 200;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    // A failed write-behind batch is retried this many times, the delay doubling from retryBackoffMs,
+    // before its rows are saved one by one
+    private int flushRetries = 3;
+
+    private long retryBackoffMs = 100;
+
+    private long shutdownTimeoutMs = 30_000;
+}
@@ -0,0 +1,64 @@
+package com.app.quantitymeasurement.config;
+
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Moves quantity_measurement_seq past the ids already in quantity_measurement_entity.
+ *
+ * Audit ids used to come from an IDENTITY column. On MySQL, ddl-auto creates the sequence as a
+ * one-row table starting at 1, so on a database that already has rows the first pooled block
+ * would collide with existing keys. This runs once at startup, after Hibernate has updated the
+ * schema and before the web server accepts requests, and only ever raises next_val, so it is a
+ * no-op on new databases and on every start after the first.
+ */
+@Slf4j
+@Component
+public class AuditSequenceInitializer {
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory is only injected so the schema exists before this runs
+    public AuditSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void alignWithExistingIds() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM quantity_measurement_entity", Long.class);
+        if (maxId == null) return;
+
+        // Databases with native sequences (h2) never held IDENTITY rows of this table
+        if (!isTable(QuantityMeasurementEntity.ID_SEQUENCE)) return;
+
+        // a pooled block ends at next_val, so the whole next block lies above maxId
+        long next = maxId + QuantityMeasurementEntity.ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update(
+                "UPDATE " + QuantityMeasurementEntity.ID_SEQUENCE + " SET next_val = ? WHERE next_val < ?", next, next);
+        if (updated > 0) {
+            log.info("Moved {} to {}, past the existing audit ids", QuantityMeasurementEntity.ID_SEQUENCE, next);
+        }
+    }
+
+    private boolean isTable(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metadata = connection.getMetaData();
+            for (String candidate : new String[] {name, name.toUpperCase()}) {
+                try (ResultSet tables = metadata.getTables(connection.getCatalog(), null, candidate, new String[] {"TABLE"})) {
+                    if (tables.next()) return true;
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,26 @@
+package com.app.quantitymeasurement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "security.auth-pool")
+public class AuthPoolProperties {
+
+    // Threads doing BCrypt work; BCrypt is CPU bound, so more than the core count only adds queueing
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    // Requests allowed to wait for a worker; beyond this callers get 503 straight away
+    private int queueCapacity = 64;
+
+    // Concurrent authentications per client IP and per email; beyond this callers get 429
+    private int perIpLimit = 4;
+
+    private int perEmailLimit = 2;
+
+    // Longest a request thread waits for its result before giving up with 503
+    private long timeoutMs = 5_000;
+
+    private long retryAfterSeconds = 1;
+}
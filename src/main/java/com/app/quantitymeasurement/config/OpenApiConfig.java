@@ -0,0 +1,41 @@
+package com.app.quantitymeasurement.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springdoc.core.customizers.OpenApiCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.app.quantitymeasurement.dto.QuantityDTO;
+import com.app.quantitymeasurement.unit.UnitRegistry;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+@Configuration
+public class OpenApiConfig {
+
+    // QuantityDTO's unit and measurementType enums, listed from UnitRegistry so the
+    // documentation cannot drift from the unit enums the API actually accepts
+    @Bean
+    public OpenApiCustomizer unitSchemaCustomizer() {
+        return openApi -> {
+            if (openApi.getComponents() == null || openApi.getComponents().getSchemas() == null) return;
+
+            Schema<?> quantity = openApi.getComponents().getSchemas().get(QuantityDTO.class.getSimpleName());
+            if (quantity == null || quantity.getProperties() == null) return;
+
+            Map<String, Schema> properties = quantity.getProperties();
+            allowableValues(properties.get("unit"), UnitRegistry.unitNames());
+            allowableValues(properties.get("measurementType"), new ArrayList<>(UnitRegistry.measurementTypes()));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void allowableValues(Schema<?> property, List<String> values) {
+        if (property != null) {
+            ((Schema<String>) property).setEnum(new ArrayList<>(values));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.app.quantitymeasurement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "quantity.rollup")
+public class RollupProperties {
+
+    // How often in-memory minute aggregates are merged into operation_rollup
+    private long flushIntervalMs = 5_000;
+
+    // How often old buckets are compacted into coarser ones
+    private long compactionIntervalMs = 3_600_000;
+
+    // Minute buckets older than this become hour buckets
+    private int minuteRetentionHours = 48;
+
+    // Hour buckets older than this become day buckets
+    private int hourRetentionDays = 90;
+}
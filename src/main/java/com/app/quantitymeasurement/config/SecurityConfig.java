@@ -2,8 +2,10 @@ package com.app.quantitymeasurement.config;
 
 import com.app.quantitymeasurement.filters.JWTFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -30,6 +32,25 @@ public class SecurityConfig {
     private final JWTFilter filter;
     private final AuthenticationSuccessHandler authenticationSuccessHandler;
     private final AuthenticationFailureHandler authenticationFailureHandler;
+    // Actuator (health, metrics, prometheus) is served on management.server.port, bound to an
+    // internal address, so a scraper without a JWT can reach it there. Matched by port, so if
+    // the management port is unset or equal to the API port this never matches and the public
+    // chain below still requires authentication for /actuator.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(
+            HttpSecurity http,
+            @Value("${server.port:8080}") int serverPort,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        boolean separatePort = managementPort > 0 && managementPort != serverPort;
+        http.securityMatcher(request -> separatePort && request.getLocalPort() == managementPort)
+            .csrf(c -> c.disable())
+            .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(c -> c.disable())
@@ -0,0 +1,16 @@
+package com.app.quantitymeasurement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "quantity.stream")
+public class StreamProperties {
+
+    // Audit rows are handed to the audit service in chunks of this many operations
+    private int auditChunkSize = 500;
+
+    // Longest accepted NDJSON line; a longer one ends the stream with an error line
+    private int maxLineBytes = 64 * 1024;
+}
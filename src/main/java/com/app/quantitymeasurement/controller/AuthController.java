@@ -4,6 +4,7 @@ import com.app.quantitymeasurement.dto.LoginDto;
 import com.app.quantitymeasurement.dto.UserDto;
 import com.app.quantitymeasurement.service.UserService;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.util.Map;
@@ -39,13 +40,14 @@ public class AuthController {
 	}
 
 	@PostMapping("/signup")
-	public ResponseEntity<UserDto> singup(@Valid @RequestBody SignupDto sinupDto) {
-		return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUser(sinupDto));
+	public ResponseEntity<UserDto> singup(@Valid @RequestBody SignupDto sinupDto, HttpServletRequest request) {
+		return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUser(sinupDto, request.getRemoteAddr()));
 	}
 
 	@PostMapping("/login")
-	public ResponseEntity<String> login(@Valid @RequestBody LoginDto loginDto, HttpServletResponse response) {
-		String token = userService.login(loginDto);
+	public ResponseEntity<String> login(@Valid @RequestBody LoginDto loginDto, HttpServletRequest request,
+										HttpServletResponse response) {
+		String token = userService.login(loginDto, request.getRemoteAddr());
 		return ResponseEntity.accepted().body(token);
 	}
 }
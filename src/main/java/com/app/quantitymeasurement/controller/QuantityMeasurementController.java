@@ -1,20 +1,34 @@
 
 package com.app.quantitymeasurement.controller;
 
+import com.app.quantitymeasurement.dto.BatchRequestDTO;
+import com.app.quantitymeasurement.dto.BulkConversionDTO;
+import com.app.quantitymeasurement.dto.BulkConversionResultDTO;
+import com.app.quantitymeasurement.dto.ExpressionDTO;
+import com.app.quantitymeasurement.dto.HistoryPageDTO;
 import com.app.quantitymeasurement.dto.QuantityInputDTO;
 import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.dto.StatsBucketDTO;
+import com.app.quantitymeasurement.model.RollupGranularity;
 import com.app.quantitymeasurement.service.IQuantityMeasurementService;
+import com.app.quantitymeasurement.service.RollupService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -24,11 +38,12 @@ import java.util.List;
 @Tag(name = "Quantity Measurements", description = "REST API for quantity measurement operations")
 public class QuantityMeasurementController {
     private final IQuantityMeasurementService service;
+    private final RollupService rollupService;
 
     @PostMapping("/compare")
     @Operation(summary = "Compare two quantities")
     public ResponseEntity<QuantityMeasurementDTO> performComparison(@Valid @RequestBody QuantityInputDTO input) {
-    	log.info(input.toString());
+        log.debug("Compare request {}", input);
     	return ResponseEntity.ok(service.compare(input.getThisQuantityDTO(), input.getThatQuantityDTO()));
     }
 
@@ -38,6 +53,12 @@ public class QuantityMeasurementController {
         return ResponseEntity.ok(service.convert(input.getThisQuantityDTO(), input.getThatQuantityDTO()));
     }
 
+    @PostMapping("/convert/bulk")
+    @Operation(summary = "Convert an array of values from one unit to another")
+    public ResponseEntity<BulkConversionResultDTO> performBulkConversion(@Valid @RequestBody BulkConversionDTO input) {
+        return ResponseEntity.ok(service.convertBulk(input));
+    }
+
     @PostMapping("/add")
     @Operation(summary = "Add two quantities")
     public ResponseEntity<QuantityMeasurementDTO> performAddition(@Valid @RequestBody QuantityInputDTO input) {
@@ -70,27 +91,90 @@ public class QuantityMeasurementController {
         return ResponseEntity.ok(service.divide(input.getThisQuantityDTO(), input.getThatQuantityDTO()));
     }
 
+    @PostMapping("/multiply")
+    @Operation(summary = "Multiply two quantities into a derived quantity, e.g. length x length = area")
+    public ResponseEntity<QuantityMeasurementDTO> performMultiplication(@Valid @RequestBody QuantityInputDTO input) {
+        return ResponseEntity.ok(service.multiply(input.getThisQuantityDTO(), input.getThatQuantityDTO()));
+    }
+
+    // MULTIPLY WITH TARGET UNIT
+    @PostMapping("/multiply-with-target-unit")
+    @Operation(summary = "Multiply two quantities with target unit")
+    public ResponseEntity<QuantityMeasurementDTO> performMultiplicationWithTargetUnit(@Valid @RequestBody QuantityInputDTO input) {
+        return ResponseEntity.ok(service.multiply(input.getThisQuantityDTO(), input.getThatQuantityDTO(), input.getTargetQuantityDTO()));
+    }
+
+    @PostMapping("/expression")
+    @Operation(summary = "Evaluate a sum of quantities, optionally converted with a trailing 'in UNIT'")
+    public ResponseEntity<QuantityMeasurementDTO> performExpression(@Valid @RequestBody ExpressionDTO input) {
+        log.debug("Expression request {}", input);
+        return ResponseEntity.ok(service.evaluateExpression(input.getExpression()));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Run a batch of operations in one request")
+    public ResponseEntity<List<QuantityMeasurementDTO>> performBatch(@Valid @RequestBody BatchRequestDTO input) {
+        return ResponseEntity.ok(service.batch(input.getOperations()));
+    }
+
+    // One operation per request line, one result per response line, written as each one is computed
+    @PostMapping(value = "/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream newline-delimited operations and their results")
+    public void performStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        long lines = service.stream(request.getInputStream(), response.getOutputStream());
+        log.debug("Streamed {} operations", lines);
+    }
+
+    // History endpoints are paged newest first: pass nextCursor back as ?cursor= for the next page
     @GetMapping("/history/operation/{operation}")
     @Operation(summary = "Get operation history")
-    public ResponseEntity<List<QuantityMeasurementDTO>> getOperationHistory(@PathVariable String operation) {
-        return ResponseEntity.ok(service.getOperationHistory(operation));
+    public ResponseEntity<HistoryPageDTO> getOperationHistory(
+            @PathVariable String operation,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + HistoryPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(service.getOperationHistory(operation, cursor, size));
     }
 
     @GetMapping("/history/type/{type}")
     @Operation(summary = "Get history by measurement type")
-    public ResponseEntity<List<QuantityMeasurementDTO>> getOperationHistoryByType(@PathVariable String type) {
-        return ResponseEntity.ok(service.getMeasurementsByType(type));
+    public ResponseEntity<HistoryPageDTO> getOperationHistoryByType(
+            @PathVariable String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + HistoryPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(service.getMeasurementsByType(type, cursor, size));
     }
 
     @GetMapping("/count/{operation}")
     @Operation(summary = "Get operation count")
-    public ResponseEntity<Long> getOperationCount(@PathVariable String operation) {
-        return ResponseEntity.ok(service.getOperationCount(operation));
+    public ResponseEntity<Long> getOperationCount(
+            @PathVariable String operation,
+            @RequestParam(defaultValue = "false") boolean exact) {
+        return ResponseEntity.ok(service.getOperationCount(operation, exact));
+    }
+
+    // e.g. /stats/CONVERT?type=WeightUnit&granularity=HOUR for hourly CONVERTs of WeightUnit over the last week
+    @GetMapping("/stats/{operation}")
+    @Operation(summary = "Get per-bucket operation statistics from the rollup table")
+    public ResponseEntity<List<StatsBucketDTO>> getOperationStats(
+            @PathVariable String operation,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Boolean error,
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusWeeks(1);
+        return ResponseEntity.ok(rollupService.getStats(operation, type, error, granularity, start, end));
     }
 
     @GetMapping("/history/errored")
     @Operation(summary = "Get errored operations history")
-    public ResponseEntity<List<QuantityMeasurementDTO>> getErroredOperations() {
-        return ResponseEntity.ok(service.getErrorHistory());
+    public ResponseEntity<HistoryPageDTO> getErroredOperations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + HistoryPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(service.getErrorHistory(cursor, size));
     }
 }
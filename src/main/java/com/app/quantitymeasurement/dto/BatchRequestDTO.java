@@ -0,0 +1,18 @@
+package com.app.quantitymeasurement.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BatchRequestDTO {
+    public static final int MAX_OPERATIONS = 10_000;
+
+    @Valid
+    @NotEmpty(message = "Operations cannot be empty")
+    @Size(max = MAX_OPERATIONS, message = "At most 10000 operations can be sent per batch")
+    private List<QuantityOperationDTO> operations;
+}
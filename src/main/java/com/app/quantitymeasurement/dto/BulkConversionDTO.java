@@ -0,0 +1,38 @@
+package com.app.quantitymeasurement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(example = """
+{
+    "measurementType": "LengthUnit",
+    "sourceUnit": "FEET",
+    "targetUnit": "INCHES",
+    "values": [1.0, 2.5, 10.0]
+}
+""")
+public class BulkConversionDTO {
+    public static final int MAX_VALUES = 1_000_000;
+
+    @NotNull(message = "Measurement type cannot be null")
+    @Pattern(regexp = "LengthUnit|AreaUnit|VolumeUnit|WeightUnit|TemperatureUnit", message = "Measurement type must be one of: LengthUnit, AreaUnit, VolumeUnit, WeightUnit, TemperatureUnit")
+    private String measurementType;
+
+    @NotNull(message = "Source unit cannot be null")
+    private String sourceUnit;
+
+    @NotNull(message = "Target unit cannot be null")
+    private String targetUnit;
+
+    @NotNull(message = "Values cannot be null")
+    @Size(max = MAX_VALUES, message = "At most 1000000 values can be converted per request")
+    private double[] values;
+}
@@ -0,0 +1,20 @@
+package com.app.quantitymeasurement.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+@Data
+public class BulkConversionResultDTO {
+    public String measurementType;
+    public String sourceUnit;
+    public String targetUnit;
+
+    public int count;
+    public double[] values;
+
+    public String errorMessage;
+
+    @JsonProperty("error")
+    public boolean error;
+}
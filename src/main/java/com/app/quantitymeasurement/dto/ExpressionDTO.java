@@ -0,0 +1,25 @@
+package com.app.quantitymeasurement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(example = """
+{
+    "expression": "3 FEET + 2 INCHES - 5 CENTIMETERS in INCHES"
+}
+""")
+public class ExpressionDTO {
+    // Stored in the audit row's result_string column
+    public static final int MAX_LENGTH = 255;
+
+    @NotBlank(message = "Expression cannot be blank")
+    @Size(max = MAX_LENGTH, message = "Expression can be at most 255 characters")
+    private String expression;
+}
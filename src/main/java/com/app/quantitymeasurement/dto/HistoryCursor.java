@@ -0,0 +1,38 @@
+package com.app.quantitymeasurement.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.app.quantitymeasurement.exception.QuantityMeasurementException;
+
+/**
+ * Position of the last row of a history page, keyed like the history indexes on (created_at, id).
+ * Clients only ever see it as an opaque URL-safe token.
+ */
+public record HistoryCursor(LocalDateTime createdAt, long id) implements Comparable<HistoryCursor> {
+
+    // Older rows sort first; the history endpoints page in the reverse order
+    @Override
+    public int compareTo(HistoryCursor other) {
+        int byTime = createdAt.compareTo(other.createdAt);
+        return byTime != 0 ? byTime : Long.compare(id, other.id);
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new HistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new QuantityMeasurementException("Invalid cursor", e);
+        }
+    }
+}
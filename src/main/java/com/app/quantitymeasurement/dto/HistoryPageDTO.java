@@ -0,0 +1,20 @@
+package com.app.quantitymeasurement.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistoryPageDTO {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public List<QuantityMeasurementDTO> items;
+
+    // Pass back as ?cursor= to get the next (older) page; null on the last page
+    public String nextCursor;
+}
@@ -0,0 +1,7 @@
+package com.app.quantitymeasurement.dto;
+
+/**
+ * Row count of one (operation, isError) group of the audit table.
+ */
+public record OperationCountView(String operation, boolean isError, long count) {
+}
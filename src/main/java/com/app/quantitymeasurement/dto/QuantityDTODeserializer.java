@@ -0,0 +1,87 @@
+package com.app.quantitymeasurement.dto;
+
+import com.app.quantitymeasurement.unit.IMeasurable;
+import com.app.quantitymeasurement.unit.UnitRegistry;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Streams {value, unit, measurementType} straight into a QuantityDTO holding the resolved
+ * IMeasurable constant. Unknown types and units are found by map lookup in UnitRegistry, and
+ * the request is rejected (400) with the same messages bean validation used to produce. A
+ * missing or non-numeric value and non-string units or types are rejected the same way.
+ */
+public class QuantityDTODeserializer extends ValueDeserializer<QuantityDTO> {
+    static final String TYPE_REQUIRED = "Measurement type cannot be null";
+    static final String TYPE_INVALID = "Measurement type must be one of: LengthUnit, AreaUnit, VolumeUnit, WeightUnit, TemperatureUnit";
+    static final String UNIT_REQUIRED = "Unit cannot be null";
+    static final String UNIT_INVALID = "Unit must be valid for the specified measurement type";
+    static final String VALUE_REQUIRED = "Value cannot be null";
+    static final String VALUE_INVALID = "Value must be a number";
+
+    @Override
+    public QuantityDTO deserialize(JsonParser p, DeserializationContext ctxt) {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextName();
+        } else if (p.currentToken() == JsonToken.PROPERTY_NAME) {
+            name = p.currentName();
+        } else {
+            return (QuantityDTO) ctxt.handleUnexpectedToken(QuantityDTO.class, p);
+        }
+
+        Double value = null;
+        String unit = null;
+        String measurementType = null;
+        for (; name != null; name = p.nextName()) {
+            JsonToken token = p.nextToken();
+            switch (name) {
+                case "value" -> value = readValue(p, token, ctxt);
+                case "unit" -> unit = readString(p, token, ctxt, UNIT_INVALID);
+                case "measurementType" -> measurementType = readString(p, token, ctxt, TYPE_INVALID);
+                default -> p.skipChildren();
+            }
+        }
+
+        if (value == null) return ctxt.reportInputMismatch(this, VALUE_REQUIRED);
+        if (measurementType == null) return ctxt.reportInputMismatch(this, TYPE_REQUIRED);
+        if (!UnitRegistry.isSupportedType(measurementType)) return ctxt.reportInputMismatch(this, TYPE_INVALID);
+        if (unit == null) return ctxt.reportInputMismatch(this, UNIT_REQUIRED);
+
+        IMeasurable measurable = UnitRegistry.find(measurementType, unit);
+        if (measurable == null) return ctxt.reportInputMismatch(this, UNIT_INVALID);
+
+        return new QuantityDTO(value, measurable);
+    }
+
+    // Numbers, or strings holding a finite number as the default coercion allowed; null counts as missing
+    private Double readValue(JsonParser p, JsonToken token, DeserializationContext ctxt) {
+        switch (token) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT:
+                return p.getDoubleValue();
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                try {
+                    double value = Double.parseDouble(p.getString().trim());
+                    if (Double.isFinite(value)) return value;
+                } catch (NumberFormatException e) {
+                    // reported below
+                }
+                break;
+            default:
+                break;
+        }
+        return ctxt.reportInputMismatch(this, VALUE_INVALID);
+    }
+
+    // Objects, arrays, numbers and booleans are rejected rather than read as text
+    private String readString(JsonParser p, JsonToken token, DeserializationContext ctxt, String invalid) {
+        if (token == JsonToken.VALUE_STRING) return p.getString();
+        if (token == JsonToken.VALUE_NULL) return null;
+        return ctxt.reportInputMismatch(this, invalid);
+    }
+}
@@ -1,7 +1,6 @@
 package com.app.quantitymeasurement.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -14,15 +13,13 @@ import lombok.Data;
 }
 """)
 public class QuantityInputDTO {
-    @Valid
+    // Units are resolved and checked while parsing, see QuantityDTODeserializer
     @NotNull(message = "First quantity cannot be null")
     private QuantityDTO thisQuantityDTO;
 
-    @Valid
     @NotNull(message = "Second quantity cannot be null")
     private QuantityDTO thatQuantityDTO;
 
-    @Valid
     @Schema(nullable = true)
     private QuantityDTO targetQuantityDTO;
 }
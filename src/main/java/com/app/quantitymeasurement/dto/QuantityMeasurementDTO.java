@@ -60,6 +60,31 @@ public class QuantityMeasurementDTO {
         return dto;
     }
 
+    // Convert a read-only history projection to DTO
+    public static QuantityMeasurementDTO from(QuantityMeasurementView view) {
+        QuantityMeasurementDTO dto = new QuantityMeasurementDTO();
+
+        dto.thisValue = view.thisValue();
+        dto.thisUnit = view.thisUnit();
+        dto.thisMeasurementType = view.thisMeasurementType();
+
+        dto.thatValue = view.thatValue();
+        dto.thatUnit = view.thatUnit();
+        dto.thatMeasurementType = view.thatMeasurementType();
+
+        dto.operation = view.operation();
+
+        dto.resultString = view.resultString();
+        dto.resultValue = view.resultValue();
+        dto.resultUnit = view.resultUnit();
+        dto.resultMeasurementType = view.resultMeasurementType();
+
+        dto.errorMessage = view.errorMessage();
+        dto.error = view.isError();
+
+        return dto;
+    }
+
     // Convert DTO to Entity
     public QuantityMeasurementEntity toEntity() {
         QuantityMeasurementEntity entity = new QuantityMeasurementEntity();
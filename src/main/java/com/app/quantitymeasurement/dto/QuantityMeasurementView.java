@@ -0,0 +1,25 @@
+package com.app.quantitymeasurement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of one audit row, selected straight from JPQL so history reads never
+ * hydrate managed QuantityMeasurementEntity instances. id and createdAt feed the page cursor.
+ */
+public record QuantityMeasurementView(
+        Long id,
+        LocalDateTime createdAt,
+        double thisValue,
+        String thisUnit,
+        String thisMeasurementType,
+        double thatValue,
+        String thatUnit,
+        String thatMeasurementType,
+        String operation,
+        String resultString,
+        double resultValue,
+        String resultUnit,
+        String resultMeasurementType,
+        String errorMessage,
+        boolean isError) {
+}
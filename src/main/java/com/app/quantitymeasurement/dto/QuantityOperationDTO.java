@@ -0,0 +1,25 @@
+package com.app.quantitymeasurement.dto;
+
+import com.app.quantitymeasurement.model.OperationType;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+// One entry of a batch request: the same shape as QuantityInputDTO plus the operation to run
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Schema(example = """
+{
+    "operation": "ADD",
+    "thisQuantityDTO": { "value": 1.0, "unit": "FEET", "measurementType": "LengthUnit" },
+    "thatQuantityDTO": { "value": 12.0, "unit": "INCHES", "measurementType": "LengthUnit" },
+    "targetQuantityDTO": { "value": 0.0, "unit": "INCHES", "measurementType": "LengthUnit" }
+}
+""")
+public class QuantityOperationDTO extends QuantityInputDTO {
+    @NotNull(message = "Operation cannot be null")
+    @Schema(allowableValues = {"COMPARE", "CONVERT", "ADD", "SUBTRACT", "MULTIPLY", "DIVIDE"})
+    private OperationType operation;
+}
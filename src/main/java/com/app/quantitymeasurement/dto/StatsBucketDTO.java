@@ -0,0 +1,22 @@
+package com.app.quantitymeasurement.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatsBucketDTO {
+    public LocalDateTime bucketStart;
+
+    public long count;
+
+    // Aggregates of thisValue in the base unit; null when no row in the bucket had a valid unit
+    public Double sum;
+    public Double min;
+    public Double max;
+    public Double average;
+}
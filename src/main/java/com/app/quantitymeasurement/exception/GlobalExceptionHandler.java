@@ -2,15 +2,21 @@ package com.app.quantitymeasurement.exception;
 
 import com.app.quantitymeasurement.QuantityMeasurementAppApplication;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.exc.MismatchedInputException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 class ErrorResponse{
 	public LocalDateTime timeStamp;
@@ -50,6 +56,31 @@ public class GlobalExceptionHandler {
 		 return ResponseEntity.badRequest().body(errorResponse);
 	}
 
+	// Quantities rejected while parsing (QuantityDTODeserializer) are reported like field validation errors
+	@ExceptionHandler(HttpMessageNotReadableException.class)
+	public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex,
+			WebRequest request) {
+		String message = ex.getMessage();
+		if (ex.getCause() instanceof MismatchedInputException cause) {
+			String field = cause.getPath().stream()
+					.map(JacksonException.Reference::getPropertyName)
+					.filter(Objects::nonNull)
+					.collect(Collectors.joining("."));
+			message = "{" + field + "=" + cause.getOriginalMessage() + "}";
+		}
+
+		log.info(message);
+
+		ErrorResponse errorResponse = new ErrorResponse();
+		errorResponse.timeStamp = LocalDateTime.now();
+		errorResponse.status = HttpStatus.BAD_REQUEST.value();
+		errorResponse.error = "Quantity measurement error";
+		errorResponse.message = message;
+		errorResponse.path = request.getDescription(false).replace("uri=", "");
+
+		return ResponseEntity.badRequest().body(errorResponse);
+	}
+
 	@ExceptionHandler(UserNotFoundException.class)
 	public ResponseEntity<ErrorResponse> handleUserNotFoundException(UserNotFoundException ex,
 																	 WebRequest request) {
@@ -66,6 +97,23 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.badRequest().body(errorResponse);
 	}
 	
+	@ExceptionHandler(ThrottledException.class)
+	public ResponseEntity<ErrorResponse> handleThrottledException(ThrottledException ex, WebRequest request) {
+		log.info(ex.getMessage());
+
+		ErrorResponse errorResponse = new ErrorResponse();
+
+		errorResponse.timeStamp = LocalDateTime.now();
+		errorResponse.status = ex.getStatus().value();
+		errorResponse.error = ex.getStatus().getReasonPhrase();
+		errorResponse.message = ex.getMessage();
+		errorResponse.path = request.getDescription(false).replace("uri=", "");
+
+		return ResponseEntity.status(ex.getStatus())
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(errorResponse);
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ErrorResponse> handleException(Exception ex, WebRequest request) {
 		log.info(ex.getMessage());
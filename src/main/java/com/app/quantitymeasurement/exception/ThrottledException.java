@@ -0,0 +1,23 @@
+package com.app.quantitymeasurement.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Request shed before doing any work; answered with the status and a Retry-After header
+public class ThrottledException extends RuntimeException {
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ThrottledException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,132 @@
+package com.app.quantitymeasurement.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.app.quantitymeasurement.exception.QuantityMeasurementException;
+import com.app.quantitymeasurement.unit.IMeasurable;
+import com.app.quantitymeasurement.unit.UnitRegistry;
+
+/**
+ * A compiled, unit-checked expression shape such as "# FEET + # INCHES - # CENTIMETERS IN INCHES".
+ * Every unit is resolved and type-checked once, and each term is folded into a coefficient that
+ * converts it straight to the result unit, so evaluating is one multiply-add per term:
+ * result = values[0] * coefficients[0] + ... + offset, rounded to two decimals once.
+ *
+ * Grammar: [+|-] VALUE UNIT { (+|-) VALUE UNIT } [IN UNIT]
+ */
+public final class ExpressionPlan {
+    private static final String TARGET_KEYWORD = "IN";
+
+    private final IMeasurable firstUnit;
+    private final IMeasurable resultUnit;
+    private final double[] coefficients;
+    private final double offset;
+
+    private ExpressionPlan(IMeasurable firstUnit, IMeasurable resultUnit, double[] coefficients, double offset) {
+        this.firstUnit = firstUnit;
+        this.resultUnit = resultUnit;
+        this.coefficients = coefficients;
+        this.offset = offset;
+    }
+
+    public IMeasurable firstUnit() {
+        return firstUnit;
+    }
+
+    public IMeasurable resultUnit() {
+        return resultUnit;
+    }
+
+    public int terms() {
+        return coefficients.length;
+    }
+
+    public double evaluate(double[] values) {
+        if (values.length != coefficients.length) {
+            throw new IllegalArgumentException("Expected " + coefficients.length + " values, got " + values.length);
+        }
+        double result = offset;
+        for (int i = 0; i < coefficients.length; i++) {
+            result += values[i] * coefficients[i];
+        }
+        return Math.round(result * 100.0) / 100.0;
+    }
+
+    public static ExpressionPlan compile(String shape) {
+        String[] tokens = shape.isEmpty() ? new String[0] : shape.split(" ");
+        List<IMeasurable> units = new ArrayList<>();
+        List<Integer> signs = new ArrayList<>();
+
+        int pos = 0;
+        String operation = null;
+        while (true) {
+            int sign = 1;
+            while (pos < tokens.length && (tokens[pos].equals("+") || tokens[pos].equals("-"))) {
+                if (tokens[pos].equals("-")) sign = -sign;
+                pos++;
+            }
+            expect(tokens, pos++, String.valueOf(ExpressionTemplate.VALUE), "a number");
+            IMeasurable unit = unit(tokens, pos++);
+            if (!units.isEmpty()) checkSameType(units.get(0), unit);
+            if (operation != null) checkArithmetic(units.get(0), operation);
+            units.add(unit);
+            signs.add(sign);
+
+            if (pos == tokens.length || tokens[pos].equals(TARGET_KEYWORD)) break;
+            // the operator is left in place and read as the next term's sign
+            operation = switch (tokens[pos]) {
+                case "+" -> "ADD";
+                case "-" -> "SUBTRACT";
+                default -> throw new QuantityMeasurementException("Expected '+', '-' or 'in' but found '" + tokens[pos] + "'");
+            };
+        }
+
+        IMeasurable first = units.get(0);
+        IMeasurable target = first;
+        if (pos < tokens.length) {
+            target = unit(tokens, pos + 1);
+            checkSameType(first, target);
+            if (pos + 2 < tokens.length) {
+                throw new QuantityMeasurementException("Unexpected '" + tokens[pos + 2] + "' after the target unit");
+            }
+        }
+
+        // Only single-term expressions can reach an offset unit: arithmetic on them is rejected above
+        double[] coefficients = new double[units.size()];
+        double offset = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            coefficients[i] = signs.get(i) * UnitRegistry.scale(units.get(i), target);
+            offset += UnitRegistry.offset(units.get(i), target);
+        }
+        return new ExpressionPlan(first, target, coefficients, offset);
+    }
+
+    private static void expect(String[] tokens, int pos, String token, String description) {
+        if (pos >= tokens.length) throw new QuantityMeasurementException("Expected " + description + " at the end of the expression");
+        if (!tokens[pos].equals(token)) {
+            throw new QuantityMeasurementException("Expected " + description + " but found '" + tokens[pos] + "'");
+        }
+    }
+
+    private static IMeasurable unit(String[] tokens, int pos) {
+        if (pos >= tokens.length) throw new QuantityMeasurementException("Expected a unit at the end of the expression");
+        IMeasurable unit = UnitRegistry.findByName(tokens[pos]);
+        if (unit == null) throw new QuantityMeasurementException("Unknown unit '" + tokens[pos] + "'");
+        return unit;
+    }
+
+    private static void checkArithmetic(IMeasurable unit, String operation) {
+        try {
+            unit.validateOperationSupport(operation);
+        } catch (UnsupportedOperationException e) {
+            throw new QuantityMeasurementException(e.getMessage(), e);
+        }
+    }
+
+    private static void checkSameType(IMeasurable a, IMeasurable b) {
+        if (!UnitRegistry.isSameType(a, b)) {
+            throw new QuantityMeasurementException("Different measurement types not allowed");
+        }
+    }
+}
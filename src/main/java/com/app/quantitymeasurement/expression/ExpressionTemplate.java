@@ -0,0 +1,86 @@
+package com.app.quantitymeasurement.expression;
+
+import java.util.Arrays;
+
+import com.app.quantitymeasurement.exception.QuantityMeasurementException;
+
+/**
+ * An expression split into its shape and its numbers: "3 feet + 2.5 INCHES in inches" becomes
+ * the shape "# FEET + # INCHES IN INCHES" and the values [3.0, 2.5]. The shape is the plan cache
+ * key, so expressions that differ only in their numbers share one compiled plan.
+ */
+public record ExpressionTemplate(String shape, double[] values) {
+
+    public static final char VALUE = '#';
+
+    public static ExpressionTemplate of(String expression) {
+        StringBuilder shape = new StringBuilder(expression.length());
+        double[] values = new double[4];
+        int count = 0;
+
+        int i = 0;
+        int length = expression.length();
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            if (isDigit(c) || (c == '.' && i + 1 < length && isDigit(expression.charAt(i + 1)))) {
+                i = skipNumber(expression, i);
+                if (count == values.length) values = Arrays.copyOf(values, count * 2);
+                values[count++] = parse(expression, start, i);
+                separate(shape).append(VALUE);
+            } else if (Character.isLetter(c)) {
+                while (i < length && (Character.isLetter(expression.charAt(i)) || expression.charAt(i) == '_')) i++;
+                separate(shape);
+                for (int j = start; j < i; j++) {
+                    shape.append(Character.toUpperCase(expression.charAt(j)));
+                }
+            } else if (c == VALUE) {
+                throw new QuantityMeasurementException("Unexpected '" + c + "' at position " + i);
+            } else {
+                separate(shape).append(c);
+                i++;
+            }
+        }
+        return new ExpressionTemplate(shape.toString(), Arrays.copyOf(values, count));
+    }
+
+    private static StringBuilder separate(StringBuilder shape) {
+        return shape.isEmpty() ? shape : shape.append(' ');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // digits [. digits] [e [+-] digits]
+    private static int skipNumber(String text, int i) {
+        int length = text.length();
+        while (i < length && isDigit(text.charAt(i))) i++;
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(text.charAt(i))) i++;
+        }
+        if (i + 1 < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            int exponent = i + 1;
+            if (text.charAt(exponent) == '+' || text.charAt(exponent) == '-') exponent++;
+            if (exponent < length && isDigit(text.charAt(exponent))) {
+                i = exponent;
+                while (i < length && isDigit(text.charAt(i))) i++;
+            }
+        }
+        return i;
+    }
+
+    private static double parse(String text, int start, int end) {
+        try {
+            return Double.parseDouble(text.substring(start, end));
+        } catch (NumberFormatException e) {
+            throw new QuantityMeasurementException("Invalid number '" + text.substring(start, end) + "'", e);
+        }
+    }
+}
@@ -1,45 +1,76 @@
 package com.app.quantitymeasurement.filters;
 
+import com.app.quantitymeasurement.cache.UserDetailsCache;
 import com.app.quantitymeasurement.service.JWTService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JWTFilter extends OncePerRequestFilter {
     private final JWTService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+
+    // Time spent authenticating the request, excluding the rest of the filter chain
+    private final Timer skippedTimer;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+
+    public JWTFilter(JWTService jwtService, UserDetailsCache userDetailsCache, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userDetailsCache = userDetailsCache;
+        this.skippedTimer = filterTimer("skipped", meterRegistry);
+        this.authenticatedTimer = filterTimer("authenticated", meterRegistry);
+        this.rejectedTimer = filterTimer("rejected", meterRegistry);
+    }
+
+    private static Timer filterTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("security.jwt.filter")
+                .description("Time to verify the bearer token and load its user")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException,
             IOException {
+        long start = System.nanoTime();
+        Timer timer = rejectedTimer;
+        try {
+            timer = authenticate(request) ? authenticatedTimer : skippedTimer;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean authenticate(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         String username = null;
-        String token = null;
 
+        // Verified once per request (and usually served from the verified-token cache)
         if(authHeader != null && authHeader.startsWith("Bearer")) {
-            token = authHeader.substring(7);
-            username = jwtService.extractUserName(token);
+            username = jwtService.parseVerifiedClaims(authHeader.substring(7)).getSubject();
         }
         if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if(jwtService.validateToken(token, userDetails)) {
+            UserDetails userDetails = userDetailsCache.loadUserByUsername(username);
+            if(username.equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -47,8 +78,9 @@ public class JWTFilter extends OncePerRequestFilter {
                         .buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                return true;
             }
         }
-        filterChain.doFilter(request, response);
+        return false;
     }
 }
@@ -0,0 +1,50 @@
+package com.app.quantitymeasurement.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Sets the MDC trace flag for requests sent with the trace header, so their DEBUG detail is logged.
+// Off unless quantity.logging.trace-header-enabled is set: this runs before authentication, and an
+// open header would let any client turn on DEBUG logging of its own requests.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTraceFilter extends OncePerRequestFilter {
+    public static final String MDC_KEY = "trace";
+
+    private final boolean enabled;
+    private final String header;
+
+    public RequestTraceFilter(@Value("${quantity.logging.trace-header-enabled:false}") boolean enabled,
+                              @Value("${quantity.logging.trace-header:X-Debug-Trace}") String header) {
+        this.enabled = enabled;
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled || !"true".equalsIgnoreCase(request.getHeader(header))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        MDC.put(MDC_KEY, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
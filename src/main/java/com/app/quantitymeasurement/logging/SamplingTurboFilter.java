@@ -0,0 +1,87 @@
+package com.app.quantitymeasurement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides per log call, before the message is formatted, whether it is emitted:
+ * - WARN and above, and any event carrying an exception, always pass through.
+ * - While the trace flag is set in the MDC, every level down to DEBUG is enabled for
+ *   loggers under the traced prefix, so one request can be followed in full.
+ * - Otherwise INFO and below are kept with the sampling rate of the longest matching
+ *   logger prefix, e.g. "com.app.quantitymeasurement.controller=0.01".
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private record Rule(String prefix, double rate) {
+    }
+
+    private String mdcKey = "trace";
+    private String tracedPrefix = "com.app.quantitymeasurement";
+    private final List<Rule> rules = new ArrayList<>();
+
+    // logger name -> sampling rate of its longest matching rule
+    private final Map<String, Double> rates = new ConcurrentHashMap<>();
+
+    public void setMdcKey(String mdcKey) {
+        this.mdcKey = mdcKey;
+    }
+
+    public void setTracedPrefix(String tracedPrefix) {
+        this.tracedPrefix = tracedPrefix;
+    }
+
+    // Comma separated prefix=rate pairs
+    public void setSamples(String samples) {
+        rules.clear();
+        rates.clear();
+        if (samples == null || samples.isBlank()) return;
+
+        for (String sample : samples.split(",")) {
+            String[] parts = sample.trim().split("=");
+            if (parts.length != 2) {
+                addError("Ignoring sample '" + sample + "', expected <logger prefix>=<rate>");
+                continue;
+            }
+            double rate = Double.parseDouble(parts[1].trim());
+            rules.add(new Rule(parts[0].trim(), Math.max(0, Math.min(1, rate))));
+        }
+        rules.sort(Comparator.comparingInt((Rule rule) -> rule.prefix().length()).reversed());
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.WARN) || t != null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (MDC.get(mdcKey) != null && logger.getName().startsWith(tracedPrefix)) {
+            return level.isGreaterOrEqual(Level.DEBUG) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+        }
+
+        double rate = rates.computeIfAbsent(logger.getName(), this::rateFor);
+        if (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private double rateFor(String loggerName) {
+        for (Rule rule : rules) {
+            if (loggerName.startsWith(rule.prefix())) return rule.rate();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,85 @@
+package com.app.quantitymeasurement.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregate of the audit rows written in one time bucket for one
+ * (operation, measurement type, error flag). Values are thisValue in the base unit.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "operation_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_bucket",
+                columnNames = {"granularity", "bucket_start", "operation", "measurement_type", "is_error"}),
+        indexes = @Index(name = "idx_rollup_operation_bucket", columnList = "operation, bucket_start"))
+public class OperationRollupEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_rollup_seq")
+    @SequenceGenerator(name = "operation_rollup_seq", sequenceName = "operation_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    // Flushes bump it in their atomic update, so compaction conflicts with a concurrent flush or
+    // another node's compaction instead of overwriting or deleting counts it did not read
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    public RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    public LocalDateTime bucketStart;
+
+    @Column(name = "operation", nullable = false)
+    public String operation;
+
+    @Column(name = "measurement_type", nullable = false)
+    public String measurementType;
+
+    @Column(name = "is_error", nullable = false)
+    public boolean isError;
+
+    // Rows in the bucket
+    @Column(name = "row_count", nullable = false)
+    public long count;
+
+    // Rows whose unit resolved, i.e. the ones behind sum/min/max
+    @Column(name = "value_count", nullable = false)
+    public long valueCount;
+
+    @Column(name = "value_sum", nullable = false)
+    public double sum;
+
+    @Column(name = "value_min")
+    public Double min;
+
+    @Column(name = "value_max")
+    public Double max;
+
+    public OperationRollupEntity(RollupGranularity granularity, LocalDateTime bucketStart,
+                                 String operation, String measurementType, boolean isError) {
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.operation = operation;
+        this.measurementType = measurementType;
+        this.isError = isError;
+    }
+
+    public void merge(long count, long valueCount, double sum, Double min, Double max) {
+        this.count += count;
+        this.valueCount += valueCount;
+        this.sum += sum;
+        if (min != null && (this.min == null || min < this.min)) this.min = min;
+        if (max != null && (this.max == null || max > this.max)) this.max = max;
+    }
+
+    public void merge(OperationRollupEntity other) {
+        merge(other.count, other.valueCount, other.sum, other.min, other.max);
+    }
+}
@@ -6,7 +6,9 @@ public enum OperationType {
 	MULTIPLY,
 	DIVIDE,
 	COMPARE,
-	CONVERT;
+	CONVERT,
+	BULK_CONVERT,
+	EXPRESSION;
 	
 	//Optional : Add display names
 	public String getDisplayName() {
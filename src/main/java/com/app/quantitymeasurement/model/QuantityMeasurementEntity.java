@@ -15,13 +15,21 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "quantity_measurement_entity", indexes = {
-        @Index(name = "idx_operation", columnList = "operation"),
-        @Index(name = "idx_measurement_type", columnList = "this_measurement_type"),
+        @Index(name = "idx_operation_created_at", columnList = "operation, created_at, id"),
+        @Index(name = "idx_measurement_type_created_at", columnList = "this_measurement_type, created_at, id"),
+        @Index(name = "idx_is_error_created_at", columnList = "is_error, created_at, id"),
         @Index(name = "idx_created_at", columnList = "created_at")
 })
 public class QuantityMeasurementEntity {
+    public static final String ID_SEQUENCE = "quantity_measurement_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts;
+    // allocationSize matches hibernate.jdbc.batch_size. Tables created before the switch get
+    // the sequence moved past their ids by AuditSequenceInitializer.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "this_value", nullable = false)
@@ -0,0 +1,66 @@
+package com.app.quantitymeasurement.repository;
+
+import com.app.quantitymeasurement.model.OperationRollupEntity;
+import com.app.quantitymeasurement.model.RollupGranularity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OperationRollupRepository extends JpaRepository<OperationRollupEntity, Long> {
+
+    @Query("SELECT r FROM OperationRollupEntity r WHERE r.granularity = :granularity "
+            + "AND r.bucketStart = :bucketStart AND r.operation = :operation "
+            + "AND r.measurementType = :type AND r.isError = :error")
+    Optional<OperationRollupEntity> findBucket(
+            @Param("granularity") RollupGranularity granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("operation") String operation,
+            @Param("type") String measurementType,
+            @Param("error") boolean isError);
+
+    // Adds a flushed minute accumulator in place, so flushes from several nodes never overwrite
+    // each other; returns 0 when the bucket has no row yet. A null min/max leaves the column as is.
+    @Modifying
+    @Query("UPDATE OperationRollupEntity r SET r.count = r.count + :count, "
+            + "r.valueCount = r.valueCount + :valueCount, r.sum = r.sum + :sum, "
+            + "r.min = CASE WHEN r.min IS NULL OR r.min > :min THEN :min ELSE r.min END, "
+            + "r.max = CASE WHEN r.max IS NULL OR r.max < :max THEN :max ELSE r.max END, "
+            + "r.version = r.version + 1 "
+            + "WHERE r.granularity = :granularity AND r.bucketStart = :bucketStart "
+            + "AND r.operation = :operation AND r.measurementType = :type AND r.isError = :error")
+    int addToBucket(
+            @Param("granularity") RollupGranularity granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("operation") String operation,
+            @Param("type") String measurementType,
+            @Param("error") boolean isError,
+            @Param("count") long count,
+            @Param("valueCount") long valueCount,
+            @Param("sum") double sum,
+            @Param("min") Double min,
+            @Param("max") Double max);
+
+    // Rows due for compaction into the next coarser granularity
+    List<OperationRollupEntity> findByGranularityAndBucketStartBefore(
+            RollupGranularity granularity, LocalDateTime cutoff);
+
+    @Query("SELECT r FROM OperationRollupEntity r WHERE r.operation = :operation "
+            + "AND (:type IS NULL OR r.measurementType = :type) "
+            + "AND (:error IS NULL OR r.isError = :error) "
+            + "AND r.bucketStart >= :from AND r.bucketStart < :to "
+            + "ORDER BY r.bucketStart")
+    List<OperationRollupEntity> findForStats(
+            @Param("operation") String operation,
+            @Param("type") String measurementType,
+            @Param("error") Boolean isError,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+}
@@ -3,11 +3,14 @@ package com.app.quantitymeasurement.repository;
 import java.util.List;
 import java.time.LocalDateTime;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.app.quantitymeasurement.dto.OperationCountView;
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
 import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
 
 @Repository 
@@ -32,4 +35,81 @@ public interface QuantityMeasurementRepository extends JpaRepository<QuantityMea
 
     // Find measurements with errors
     List<QuantityMeasurementEntity> findByIsErrorTrue();
-}
\ No newline at end of file
+
+    @Query("SELECT new com.app.quantitymeasurement.dto.OperationCountView(e.operation, e.isError, COUNT(e)) "
+            + "FROM QuantityMeasurementEntity e GROUP BY e.operation, e.isError")
+    List<OperationCountView> countGroupedByOperationAndIsError();
+
+    String VIEW = "SELECT new com.app.quantitymeasurement.dto.QuantityMeasurementView("
+            + "e.id, e.createdAt, e.thisValue, e.thisUnit, e.thisMeasurementType, "
+            + "e.thatValue, e.thatUnit, e.thatMeasurementType, e.operation, e.resultString, "
+            + "e.resultValue, e.resultUnit, e.resultMeasurementType, e.errorMessage, e.isError) "
+            + "FROM QuantityMeasurementEntity e ";
+
+    // Keyset pages, newest first, projected into QuantityMeasurementView. The first page has
+    // no cursor; every later page starts strictly after (createdAt, id) of the previous page's
+    // last row, so it is a range scan on the matching (column, created_at, id) index no matter
+    // how deep it is.
+    @Query(VIEW + "WHERE e.operation = :operation "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<QuantityMeasurementView> findHistoryByOperation(
+            @Param("operation") String operation, Limit limit);
+
+    @Query(VIEW + "WHERE e.operation = :operation "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<QuantityMeasurementView> findHistoryByOperationAfter(
+            @Param("operation") String operation,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+
+    @Query(VIEW + "WHERE e.thisMeasurementType = :type "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<QuantityMeasurementView> findHistoryByType(
+            @Param("type") String type, Limit limit);
+
+    @Query(VIEW + "WHERE e.thisMeasurementType = :type "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<QuantityMeasurementView> findHistoryByTypeAfter(
+            @Param("type") String type,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+
+    @Query(VIEW + "WHERE e.isError = true "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<QuantityMeasurementView> findErrorHistory(Limit limit);
+
+    @Query(VIEW + "WHERE e.isError = true "
+            + "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<QuantityMeasurementView> findErrorHistoryAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+
+    // Rows due for the archive, oldest first, starting after the newest row already archived
+    @Query(VIEW + "WHERE e.createdAt < :cutoff "
+            + "ORDER BY e.createdAt, e.id")
+    List<QuantityMeasurementView> findArchivable(
+            @Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Query(VIEW + "WHERE e.createdAt < :cutoff "
+            + "AND (e.createdAt > :createdAt OR (e.createdAt = :createdAt AND e.id > :id)) "
+            + "ORDER BY e.createdAt, e.id")
+    List<QuantityMeasurementView> findArchivableAfter(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+
+    // Ids of rows at or before (createdAt, id), i.e. already written to an archive segment
+    @Query("SELECT e.id FROM QuantityMeasurementEntity e "
+            + "WHERE e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id <= :id)")
+    List<Long> findArchivedIds(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            Limit limit);
+}
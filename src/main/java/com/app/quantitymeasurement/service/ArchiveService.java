@@ -0,0 +1,26 @@
+package com.app.quantitymeasurement.service;
+
+import com.app.quantitymeasurement.dto.HistoryCursor;
+import com.app.quantitymeasurement.dto.OperationCountView;
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
+
+import java.util.List;
+
+public interface ArchiveService {
+
+    // Moves audit rows older than the configured age into a new segment, then deletes them from the table
+    void archive();
+
+    // Archived rows, newest first, strictly older than after (null: from the newest); at most limit
+    List<QuantityMeasurementView> findByOperation(String operation, HistoryCursor after, int limit);
+
+    List<QuantityMeasurementView> findByType(String measurementType, HistoryCursor after, int limit);
+
+    List<QuantityMeasurementView> findErrors(HistoryCursor after, int limit);
+
+    // Key of the newest archived row, null when nothing is archived
+    HistoryCursor newest();
+
+    // Archived rows per (operation, isError), kept in memory
+    List<OperationCountView> countGroupedByOperationAndIsError();
+}
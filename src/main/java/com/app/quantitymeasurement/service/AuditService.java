@@ -0,0 +1,12 @@
+package com.app.quantitymeasurement.service;
+
+import java.util.List;
+
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+
+// Persists audit rows, either synchronously or through the write-behind queue
+public interface AuditService {
+    void record(QuantityMeasurementEntity entity);
+
+    void recordAll(List<QuantityMeasurementEntity> entities);
+}
@@ -0,0 +1,13 @@
+package com.app.quantitymeasurement.service;
+
+import java.util.function.Supplier;
+
+public interface AuthWorkerPool {
+
+    /**
+     * Runs password hashing/verification work on the bounded auth pool and waits for it.
+     * Throws ThrottledException (429) when the IP or email already has too many attempts in
+     * flight, or (503) when the pool queue is full or the work times out.
+     */
+    <T> T execute(String clientIp, String email, Supplier<T> work);
+}
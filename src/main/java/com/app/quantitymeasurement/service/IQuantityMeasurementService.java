@@ -1,9 +1,16 @@
 package com.app.quantitymeasurement.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
+import com.app.quantitymeasurement.dto.BulkConversionDTO;
+import com.app.quantitymeasurement.dto.BulkConversionResultDTO;
+import com.app.quantitymeasurement.dto.HistoryPageDTO;
 import com.app.quantitymeasurement.dto.QuantityDTO;
 import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.dto.QuantityOperationDTO;
 
 public interface IQuantityMeasurementService {
     QuantityMeasurementDTO compare(QuantityDTO thisQuantityDTO, QuantityDTO thatQuantityDTO);
@@ -20,15 +27,32 @@ public interface IQuantityMeasurementService {
 
     QuantityMeasurementDTO divide(QuantityDTO thisQuantityDTO, QuantityDTO thatQuantityDTO);
 
-    // Get operation history by operation type - ADD, COMPARE
-    List<QuantityMeasurementDTO> getOperationHistory(String operation);
+    // Dimensional product, e.g. LengthUnit x LengthUnit gives an AreaUnit
+    QuantityMeasurementDTO multiply(QuantityDTO thisQuantityDTO, QuantityDTO thatQuantityDTO);
+
+    QuantityMeasurementDTO multiply(QuantityDTO thisQuantityDTO, QuantityDTO thatQuantityDTO, QuantityDTO targetUnitDTO);
+
+    // Run many operations in one call; results are in request order, errors stay per item
+    List<QuantityMeasurementDTO> batch(List<QuantityOperationDTO> operations);
+
+    // Evaluate newline-delimited JSON operations as they arrive, writing one result line per operation
+    long stream(InputStream input, OutputStream output) throws IOException;
+
+    // Evaluate e.g. "3 FEET + 2 INCHES - 5 CENTIMETERS in INCHES", audited as one row
+    QuantityMeasurementDTO evaluateExpression(String expression);
+
+    // Convert many values between the same two units, audited as a single summary row
+    BulkConversionResultDTO convertBulk(BulkConversionDTO bulkConversionDTO);
+
+    // Get operation history by operation type - ADD, COMPARE (newest first, one page per cursor)
+    HistoryPageDTO getOperationHistory(String operation, String cursor, int size);
 
     // Get history by measurement type (LengthUnit, WeightUnit
-    List<QuantityMeasurementDTO> getMeasurementsByType(String type);
+    HistoryPageDTO getMeasurementsByType(String type, String cursor, int size);
 
     // Get count of successful operations
-    long getOperationCount(String operation);
+    long getOperationCount(String operation, boolean exact);
 
     // Get all failed/error operations
-    List<QuantityMeasurementDTO> getErrorHistory();
+    HistoryPageDTO getErrorHistory(String cursor, int size);
 }
@@ -1,10 +1,12 @@
 package com.app.quantitymeasurement.service;
 
-import org.springframework.security.core.userdetails.UserDetails;
+import io.jsonwebtoken.Claims;
 
 public interface JWTService {
     public String generateToken(String username);
-    public boolean validateToken(String token, UserDetails userDetails);
 
     public String extractUserName(String token);
+
+    // Signature- and expiry-checked claims; throws AccessDeniedException for a bad token or one without exp
+    public Claims parseVerifiedClaims(String token);
 }
@@ -0,0 +1,21 @@
+package com.app.quantitymeasurement.service;
+
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+
+import java.util.List;
+
+public interface OperationCounterService {
+
+    // Called once rows are persisted
+    void recorded(QuantityMeasurementEntity entity);
+
+    void recordedAll(List<QuantityMeasurementEntity> entities);
+
+    // Successful rows for the operation, served from memory
+    long successCount(String operation);
+
+    long errorCount(String operation);
+
+    // Brings the in-memory counters back in line with the audit table
+    void reconcile();
+}
@@ -0,0 +1,25 @@
+package com.app.quantitymeasurement.service;
+
+import com.app.quantitymeasurement.dto.StatsBucketDTO;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.model.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RollupService {
+
+    // Called once rows are persisted
+    void recorded(QuantityMeasurementEntity entity);
+
+    void recordedAll(List<QuantityMeasurementEntity> entities);
+
+    // Merges pending minute aggregates into the rollup table
+    void flush();
+
+    // Folds expired minute buckets into hours and expired hour buckets into days
+    void compact();
+
+    List<StatsBucketDTO> getStats(String operation, String measurementType, Boolean isError,
+                                  RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
@@ -5,9 +5,9 @@ import com.app.quantitymeasurement.dto.SignupDto;
 import com.app.quantitymeasurement.dto.UserDto;
 
 public interface UserService {
-	public UserDto createUser(SignupDto signupDto);
+	public UserDto createUser(SignupDto signupDto, String clientIp);
 	
 	public UserDto getUserById(Long id);
 
-	String login(LoginDto loginDto);
+	String login(LoginDto loginDto, String clientIp);
 }
\ No newline at end of file
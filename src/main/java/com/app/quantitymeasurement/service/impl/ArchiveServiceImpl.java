@@ -0,0 +1,253 @@
+package com.app.quantitymeasurement.service.impl;
+
+import com.app.quantitymeasurement.archive.ArchiveSegment;
+import com.app.quantitymeasurement.archive.ArchiveSegmentWriter;
+import com.app.quantitymeasurement.config.ArchiveProperties;
+import com.app.quantitymeasurement.dto.HistoryCursor;
+import com.app.quantitymeasurement.dto.OperationCountView;
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+import com.app.quantitymeasurement.service.ArchiveService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves aged audit rows out of quantity_measurement_entity into compressed, memory-mapped
+ * segment files (see {@link ArchiveSegment}) and serves them back to the history endpoints.
+ *
+ * Rows are archived oldest first, so every row at or before the newest archived (created_at, id)
+ * is in a segment. A run writes the segment first and then deletes up to that key in small
+ * transactions; if it stops in between, the next run finishes the delete before archiving more.
+ *
+ * The archive is per node. Segments live on this node's disk and are only read by this node,
+ * while the rows they hold are deleted from the shared table, so other nodes would no longer see
+ * them in history or counts. Enable it on single-node deployments only, with an absolute
+ * directory on storage that survives restarts and redeploys.
+ */
+@Slf4j
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".qma";
+
+    private static final Comparator<ArchiveSegment> NEWEST_SEGMENT_FIRST =
+            Comparator.comparing(ArchiveSegment::newest).reversed();
+
+    private final QuantityMeasurementRepository repository;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final Path directory;
+
+    // Replaced rather than modified, so scans read a consistent snapshot without locking
+    private volatile List<ArchiveSegment> segments = List.of();
+    private volatile List<OperationCountView> counts = List.of();
+    private long nextSequence = 1;
+
+    public ArchiveServiceImpl(QuantityMeasurementRepository repository,
+                              ArchiveProperties properties,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.directory = properties.isEnabled() ? archiveDirectory(properties) : null;
+
+        Gauge.builder("quantity.archive.segments", this, archive -> archive.segments.size())
+                .description("Archive segment files open for history reads")
+                .register(meterRegistry);
+        Gauge.builder("quantity.archive.rows", this,
+                        archive -> archive.segments.stream().mapToLong(ArchiveSegment::rowCount).sum())
+                .description("Audit rows held in archive segments")
+                .register(meterRegistry);
+    }
+
+    // A relative path would follow the working directory, so segments could silently go missing
+    private static Path archiveDirectory(ArchiveProperties properties) {
+        String directory = properties.getDirectory();
+        if (directory == null || directory.isBlank() || !Path.of(directory).isAbsolute()) {
+            throw new IllegalStateException("quantity.archive.directory must be an absolute path when "
+                    + "quantity.archive.enabled is true, got: " + directory);
+        }
+        return Path.of(directory);
+    }
+
+    @PostConstruct
+    void openSegments() throws IOException {
+        if (!properties.isEnabled() || !Files.isDirectory(directory)) return;
+
+        List<ArchiveSegment> opened = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(SEGMENT_SUFFIX)) {
+                    // left by a write that never completed
+                    Files.delete(file);
+                    continue;
+                }
+                opened.add(ArchiveSegment.open(file));
+                long sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                nextSequence = Math.max(nextSequence, sequence + 1);
+            }
+        }
+        publish(opened);
+        log.info("Opened {} archive segments in {}", opened.size(), directory.toAbsolutePath());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${quantity.archive.interval-ms:3600000}",
+            initialDelayString = "${quantity.archive.interval-ms:3600000}")
+    public synchronized void archive() {
+        if (!properties.isEnabled()) return;
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getMaxAgeDays());
+        Limit limit = Limit.of(properties.getSegmentRows());
+        long archived = 0;
+        long deleted = deleteArchived();
+
+        List<QuantityMeasurementView> rows;
+        do {
+            HistoryCursor after = newest();
+            rows = readOnlyTemplate.execute(status -> after == null
+                    ? repository.findArchivable(cutoff, limit)
+                    : repository.findArchivableAfter(cutoff, after.createdAt(), after.id(), limit));
+            if (rows.isEmpty()) break;
+
+            try {
+                writeSegment(rows);
+            } catch (IOException e) {
+                log.error("Failed to write an archive segment of {} rows, retrying on the next run", rows.size(), e);
+                break;
+            }
+            archived += rows.size();
+            deleted += deleteArchived();
+        } while (rows.size() == properties.getSegmentRows());
+
+        if (archived + deleted > 0) {
+            log.info("Archived {} audit rows older than {} and deleted {} from the table", archived, cutoff, deleted);
+        }
+    }
+
+    private void writeSegment(List<QuantityMeasurementView> rows) throws IOException {
+        Files.createDirectories(directory);
+        String name = String.format("%s%08d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX);
+        Path file = directory.resolve(name);
+        Path temporary = directory.resolve(name + ".tmp");
+
+        Files.deleteIfExists(temporary);
+        ArchiveSegmentWriter.write(temporary, rows);
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        nextSequence++;
+
+        List<ArchiveSegment> updated = new ArrayList<>(segments);
+        updated.add(ArchiveSegment.open(file));
+        publish(updated);
+    }
+
+    // Deletes table rows at or before the newest archived key, one short transaction per chunk
+    private long deleteArchived() {
+        HistoryCursor newest = newest();
+        if (newest == null) return 0;
+
+        Limit chunk = Limit.of(properties.getDeleteChunkSize());
+        long deleted = 0;
+        List<Long> ids;
+        do {
+            ids = transactionTemplate.execute(status -> {
+                List<Long> found = repository.findArchivedIds(newest.createdAt(), newest.id(), chunk);
+                repository.deleteAllByIdInBatch(found);
+                return found;
+            });
+            deleted += ids.size();
+        } while (ids.size() == properties.getDeleteChunkSize());
+        return deleted;
+    }
+
+    private void publish(List<ArchiveSegment> updated) {
+        updated.sort(NEWEST_SEGMENT_FIRST);
+
+        Map<OperationCountView, Long> totals = new LinkedHashMap<>();
+        for (ArchiveSegment segment : updated) {
+            for (OperationCountView count : segment.counts()) {
+                totals.merge(new OperationCountView(count.operation(), count.isError(), 0), count.count(), Long::sum);
+            }
+        }
+        List<OperationCountView> summed = new ArrayList<>(totals.size());
+        totals.forEach((key, count) -> summed.add(new OperationCountView(key.operation(), key.isError(), count)));
+
+        segments = List.copyOf(updated);
+        counts = List.copyOf(summed);
+    }
+
+    @Override
+    public List<QuantityMeasurementView> findByOperation(String operation, HistoryCursor after, int limit) {
+        return scan(ArchiveSegment.Match.OPERATION, operation, after, limit);
+    }
+
+    @Override
+    public List<QuantityMeasurementView> findByType(String measurementType, HistoryCursor after, int limit) {
+        return scan(ArchiveSegment.Match.MEASUREMENT_TYPE, measurementType, after, limit);
+    }
+
+    @Override
+    public List<QuantityMeasurementView> findErrors(HistoryCursor after, int limit) {
+        return scan(ArchiveSegment.Match.ERROR, null, after, limit);
+    }
+
+    private List<QuantityMeasurementView> scan(ArchiveSegment.Match match, String value, HistoryCursor after, int limit) {
+        List<QuantityMeasurementView> rows = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            // segments come newest first, so once the page is full an older segment cannot add to it
+            if (rows.size() == limit && segment.newest().compareTo(cursor(rows.get(limit - 1))) < 0) break;
+            if (after != null && segment.oldest().compareTo(after) >= 0) continue;
+
+            int before = rows.size();
+            segment.scan(match, value, after, limit, rows);
+            if (before > 0 && rows.size() > before) {
+                rows.sort(ArchiveSegment.NEWEST_FIRST);
+                if (rows.size() > limit) rows.subList(limit, rows.size()).clear();
+            }
+        }
+        return rows;
+    }
+
+    private static HistoryCursor cursor(QuantityMeasurementView row) {
+        return new HistoryCursor(row.createdAt(), row.id());
+    }
+
+    @Override
+    public HistoryCursor newest() {
+        List<ArchiveSegment> current = segments;
+        return current.isEmpty() ? null : current.get(0).newest();
+    }
+
+    @Override
+    public List<OperationCountView> countGroupedByOperationAndIsError() {
+        return counts;
+    }
+}
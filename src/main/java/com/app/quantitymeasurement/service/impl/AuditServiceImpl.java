@@ -0,0 +1,276 @@
+package com.app.quantitymeasurement.service.impl;
+
+import com.app.quantitymeasurement.config.AuditProperties;
+import com.app.quantitymeasurement.config.AuditProperties.Mode;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+import com.app.quantitymeasurement.service.AuditService;
+import com.app.quantitymeasurement.service.OperationCounterService;
+import com.app.quantitymeasurement.service.RollupService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class AuditServiceImpl implements AuditService, SmartLifecycle {
+    private final QuantityMeasurementRepository repository;
+    private final AuditProperties properties;
+    private final OperationCounterService counters;
+    private final RollupService rollups;
+
+    private final BlockingQueue<QuantityMeasurementEntity> queue;
+
+    private final Timer flushTimer;
+    private final Timer saveTimer;
+    private final Timer saveAllTimer;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Meter.MeterProvider<Counter> saveErrorCounters;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AuditServiceImpl(QuantityMeasurementRepository repository,
+                            AuditProperties properties,
+                            OperationCounterService counters,
+                            RollupService rollups,
+                            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.counters = counters;
+        this.rollups = rollups;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("quantity.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit rows waiting for the write-behind flusher")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("quantity.audit.flush")
+                .description("Time to persist one write-behind batch")
+                .register(meterRegistry);
+        this.saveTimer = Timer.builder("quantity.audit.save")
+                .description("Time of a synchronous repository save")
+                .tag("rows", "single")
+                .register(meterRegistry);
+        this.saveAllTimer = Timer.builder("quantity.audit.save")
+                .description("Time of a synchronous repository save")
+                .tag("rows", "batch")
+                .register(meterRegistry);
+        this.saveErrorCounters = Counter.builder("quantity.audit.save.errors")
+                .description("Failed audit writes, by exception class")
+                .withRegistry(meterRegistry);
+        this.droppedCounter = Counter.builder("quantity.audit.dropped")
+                .description("Audit rows dropped because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("quantity.audit.failed")
+                .description("Audit rows lost because neither their batch nor a row-by-row retry persisted them")
+                .register(meterRegistry);
+    }
+
+    private boolean isWriteBehind() {
+        return properties.getMode() == Mode.WRITE_BEHIND;
+    }
+
+    @Override
+    public void record(QuantityMeasurementEntity entity) {
+        if (!isWriteBehind()) {
+            save(entity);
+            return;
+        }
+        enqueue(entity);
+    }
+
+    @Override
+    public void recordAll(List<QuantityMeasurementEntity> entities) {
+        if (!isWriteBehind()) {
+            timed(saveAllTimer, () -> repository.saveAll(entities));
+            persisted(entities);
+            return;
+        }
+        for (QuantityMeasurementEntity entity : entities) {
+            enqueue(entity);
+        }
+    }
+
+    private void enqueue(QuantityMeasurementEntity entity) {
+        if (queue.offer(entity)) return;
+
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    queue.put(entity);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    save(entity);
+                }
+            }
+            case DROP -> droppedCounter.increment();
+            case SYNC -> save(entity);
+        }
+    }
+
+    private void save(QuantityMeasurementEntity entity) {
+        timed(saveTimer, () -> repository.save(entity));
+        counters.recorded(entity);
+        rollups.recorded(entity);
+    }
+
+    private void timed(Timer timer, Runnable write) {
+        try {
+            timer.record(write);
+        } catch (RuntimeException e) {
+            saveErrorCounters.withTags("exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        }
+    }
+
+    // Feeds derived views only with rows that actually reached the table
+    private void persisted(List<QuantityMeasurementEntity> entities) {
+        counters.recordedAll(entities);
+        rollups.recordedAll(entities);
+    }
+
+    private void flushLoop() {
+        List<QuantityMeasurementEntity> batch = new ArrayList<>(properties.getBatchSize());
+        long deadline = 0;
+
+        while (running) {
+            long wait = batch.isEmpty()
+                    ? properties.getFlushIntervalMs()
+                    : Math.max(0, deadline - System.currentTimeMillis());
+            try {
+                QuantityMeasurementEntity entity = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (entity != null) {
+                    if (batch.isEmpty()) deadline = System.currentTimeMillis() + properties.getFlushIntervalMs();
+                    batch.add(entity);
+                    queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            // flush when the batch is full or its oldest row has waited flushIntervalMs
+            if (batch.size() >= properties.getBatchSize()
+                    || (!batch.isEmpty() && System.currentTimeMillis() >= deadline)) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+    }
+
+    // Callers were already answered, so a failed batch is retried with backoff and then saved row
+    // by row before anything is given up on
+    private void flush(List<QuantityMeasurementEntity> batch) {
+        if (batch.isEmpty()) return;
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                timed(flushTimer, () -> repository.saveAll(batch));
+                persisted(batch);
+                batch.clear();
+                return;
+            } catch (Exception e) {
+                resetIds(batch);
+                if (attempt >= properties.getFlushRetries()) {
+                    log.warn("Failed to persist {} audit rows after {} attempts, saving them one by one",
+                            batch.size(), attempt + 1, e);
+                    break;
+                }
+                log.warn("Failed to persist {} audit rows ({}), retrying", batch.size(), e.toString());
+                if (!backOff(properties.getRetryBackoffMs() << attempt)) break;
+            }
+        }
+
+        int failed = 0;
+        for (QuantityMeasurementEntity entity : batch) {
+            try {
+                save(entity);
+            } catch (Exception e) {
+                failed++;
+                log.error("Failed to persist audit row {} {}", entity.operation, entity.createdAt, e);
+            }
+        }
+        if (failed > 0) {
+            failedCounter.increment(failed);
+        }
+        batch.clear();
+    }
+
+    // The failed transaction rolled back, but the entities keep the ids it assigned; without them
+    // the retry persists the rows again instead of merging rows that do not exist
+    private static void resetIds(List<QuantityMeasurementEntity> batch) {
+        for (QuantityMeasurementEntity entity : batch) {
+            entity.setId(null);
+        }
+    }
+
+    private static boolean backOff(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        List<QuantityMeasurementEntity> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            flush(batch);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!isWriteBehind()) return;
+
+        flusher = new Thread(this::flushLoop, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Audit write-behind enabled: capacity={}, batchSize={}, flushIntervalMs={}, overflow={}",
+                properties.getQueueCapacity(), properties.getBatchSize(),
+                properties.getFlushIntervalMs(), properties.getOverflowPolicy());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher == null) return;
+
+        try {
+            flusher.join(properties.getShutdownTimeoutMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        log.info("Audit write-behind drained");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server so requests still in flight can enqueue before the final drain
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
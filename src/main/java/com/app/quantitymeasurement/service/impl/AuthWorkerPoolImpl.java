@@ -0,0 +1,175 @@
+package com.app.quantitymeasurement.service.impl;
+
+import com.app.quantitymeasurement.config.AuthPoolProperties;
+import com.app.quantitymeasurement.exception.ThrottledException;
+import com.app.quantitymeasurement.service.AuthWorkerPool;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size executor with a bounded queue for BCrypt work, so a login or signup storm uses
+ * at most poolSize cores and poolSize + queueCapacity request threads; everything beyond
+ * that is shed immediately and the measurement endpoints keep their Tomcat threads.
+ */
+@Slf4j
+@Service
+public class AuthWorkerPoolImpl implements AuthWorkerPool {
+    private final AuthPoolProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    // key -> attempts in flight; entries are removed when they drop back to zero
+    private final Map<String, AtomicInteger> inFlightByIp = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlightByEmail = new ConcurrentHashMap<>();
+
+    private final Timer waitTimer;
+    private final Timer workTimer;
+    private final Counter rejectedByPool;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByEmail;
+    private final Counter timedOut;
+
+    public AuthWorkerPoolImpl(AuthPoolProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(), properties.getPoolSize(),
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auth-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.pool.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Auth workers currently hashing or verifying passwords")
+                .register(meterRegistry);
+        Gauge.builder("auth.pool.queue.depth", executor, e -> e.getQueue().size())
+                .description("Auth requests waiting for a worker")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.pool.wait")
+                .description("Time auth work spent queued before a worker picked it up")
+                .register(meterRegistry);
+        this.workTimer = Timer.builder("auth.pool.work")
+                .description("Time spent running auth work on a worker")
+                .register(meterRegistry);
+        this.rejectedByPool = rejected(meterRegistry, "pool");
+        this.rejectedByIp = rejected(meterRegistry, "ip");
+        this.rejectedByEmail = rejected(meterRegistry, "email");
+        this.timedOut = rejected(meterRegistry, "timeout");
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.pool.rejected")
+                .tag("reason", reason)
+                .description("Auth requests shed before or while waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T execute(String clientIp, String email, Supplier<T> work) {
+        if (!acquire(inFlightByIp, clientIp, properties.getPerIpLimit())) {
+            rejectedByIp.increment();
+            throw tooManyRequests("Too many concurrent authentication attempts from this address");
+        }
+        try {
+            if (!acquire(inFlightByEmail, email, properties.getPerEmailLimit())) {
+                rejectedByEmail.increment();
+                throw tooManyRequests("Too many concurrent authentication attempts for this account");
+            }
+            try {
+                return submitAndWait(work);
+            } finally {
+                release(inFlightByEmail, email);
+            }
+        } finally {
+            release(inFlightByIp, clientIp);
+        }
+    }
+
+    private <T> T submitAndWait(Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return workTimer.record(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedByPool.increment();
+            throw unavailable("Authentication is busy, try again shortly");
+        }
+
+        try {
+            return future.get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw unavailable("Authentication timed out, try again shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw unavailable("Authentication interrupted");
+        } catch (ExecutionException e) {
+            // Rethrow the work's own failure (e.g. BadCredentialsException) unchanged
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static boolean acquire(Map<String, AtomicInteger> inFlight, String key, int limit) {
+        if (key == null) return true;
+        boolean[] admitted = {false};
+        inFlight.compute(key, (k, count) -> {
+            AtomicInteger value = count == null ? new AtomicInteger() : count;
+            if (value.get() < limit) {
+                value.incrementAndGet();
+                admitted[0] = true;
+            }
+            return value.get() == 0 ? null : value;
+        });
+        return admitted[0];
+    }
+
+    private static void release(Map<String, AtomicInteger> inFlight, String key) {
+        if (key == null) return;
+        inFlight.computeIfPresent(key, (k, count) -> count.decrementAndGet() == 0 ? null : count);
+    }
+
+    private ThrottledException tooManyRequests(String message) {
+        return new ThrottledException(message, HttpStatus.TOO_MANY_REQUESTS, properties.getRetryAfterSeconds());
+    }
+
+    private ThrottledException unavailable(String message) {
+        return new ThrottledException(message, HttpStatus.SERVICE_UNAVAILABLE, properties.getRetryAfterSeconds());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
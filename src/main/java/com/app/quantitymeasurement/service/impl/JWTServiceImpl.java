@@ -1,15 +1,20 @@
 package com.app.quantitymeasurement.service.impl;
 
+import com.app.quantitymeasurement.cache.ExpiringCache;
 import com.app.quantitymeasurement.service.JWTService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
 
@@ -18,36 +23,49 @@ public class JWTServiceImpl implements JWTService {
 //    @Value("${security.jwt.secret}")
     private String secretKey = "VGhpcy1pcy1hLXN1cGVyLXNlY3VyZS1KV1Qtc2VjcmV0LWtleS0yMDI2LWRldm9wcw==";
 
-    private SecretKey getKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Decoded once; the parser is immutable and thread-safe
+    private final SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
+
+    // SHA-256 of the token -> verified claims, evicted at the token's own expiry
+    private final ExpiringCache<String, Claims> verifiedTokens;
+
+    public JWTServiceImpl(@Value("${security.jwt.cache-size:10000}") int cacheSize,
+                          MeterRegistry meterRegistry) {
+        this.verifiedTokens = new ExpiringCache<String, Claims>(cacheSize).bindTo(meterRegistry, "jwt");
+    }
+
+    @Override
+    public Claims parseVerifiedClaims(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.get(digest);
+        if (claims != null) return claims;
+
+        claims = extractAllClaims(token);
+        // The parser only rejects a past exp; a token without one would never expire
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new AccessDeniedException("Invalid JWT token");
+        }
+        verifiedTokens.put(digest, claims, expiration.getTime());
+        return claims;
     }
 
     private Claims extractAllClaims(String token) {
         try{
-            return Jwts.parser()
-                    .verifyWith(getKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         }
         catch (Exception e){
             throw new AccessDeniedException("Invalid JWT token");
         }
     }
 
-    private Date extractExpiration(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.getExpiration();
-    }
-
-    private boolean isTokenExpired(String token) {
-        try{
-            Date expirationDate = extractExpiration(token);
-            return expirationDate.before(new Date());
-        }
-        catch (Exception e) {
-            throw new AccessDeniedException("Token expired!");
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
@@ -57,20 +75,12 @@ public class JWTServiceImpl implements JWTService {
                 .subject(username)
                 .expiration(new Date(System.currentTimeMillis() + 1000*60*60*24))
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .signWith(getKey())
+                .signWith(key)
                 .compact();
     }
 
-    @Override
-    public boolean validateToken(String token, UserDetails userDetails) {
-        String username = extractUserName(token);
-        isTokenExpired(token);
-        return username.equals(userDetails.getUsername());
-    }
-
     @Override
     public String extractUserName(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.getSubject();
+        return parseVerifiedClaims(token).getSubject();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.app.quantitymeasurement.service.impl;
+
+import com.app.quantitymeasurement.dto.OperationCountView;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+import com.app.quantitymeasurement.service.ArchiveService;
+import com.app.quantitymeasurement.service.OperationCounterService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation success/error row counts kept in LongAdders, so the count endpoint never
+ * touches the database. Seeded from the audit table and the archive at startup, bumped after
+ * each persist and periodically corrected against a GROUP BY count plus the archived rows.
+ */
+@Slf4j
+@Service
+public class OperationCounterServiceImpl implements OperationCounterService {
+    private static final int SUCCESS = 0;
+    private static final int ERROR = 1;
+
+    private final QuantityMeasurementRepository repository;
+    private final ArchiveService archiveService;
+    private final Counter driftCounter;
+
+    // operation -> [success, error]
+    private final Map<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+    public OperationCounterServiceImpl(QuantityMeasurementRepository repository,
+                                       ArchiveService archiveService,
+                                       MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.archiveService = archiveService;
+        this.driftCounter = Counter.builder("quantity.counters.drift")
+                .description("Rows the in-memory operation counters were corrected by on reconcile")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void seed() {
+        reconcile();
+    }
+
+    @Override
+    public void recorded(QuantityMeasurementEntity entity) {
+        adders(entity.operation)[entity.isError ? ERROR : SUCCESS].increment();
+    }
+
+    @Override
+    public void recordedAll(List<QuantityMeasurementEntity> entities) {
+        for (QuantityMeasurementEntity entity : entities) {
+            recorded(entity);
+        }
+    }
+
+    @Override
+    public long successCount(String operation) {
+        return count(operation, SUCCESS);
+    }
+
+    @Override
+    public long errorCount(String operation) {
+        return count(operation, ERROR);
+    }
+
+    private long count(String operation, int slot) {
+        LongAdder[] adders = counters.get(operation);
+        return adders == null ? 0 : adders[slot].sum();
+    }
+
+    private LongAdder[] adders(String operation) {
+        return counters.computeIfAbsent(operation, key -> new LongAdder[] {new LongAdder(), new LongAdder()});
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${quantity.counters.reconcile-interval-ms:60000}",
+            initialDelayString = "${quantity.counters.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Map<String, long[]> before = snapshot();
+
+        // Rows archived but not yet deleted are counted twice until the archiver's delete catches up
+        Map<String, long[]> actual = new HashMap<>();
+        for (OperationCountView row : repository.countGroupedByOperationAndIsError()) {
+            actual.computeIfAbsent(row.operation(), key -> new long[2])[row.isError() ? ERROR : SUCCESS] += row.count();
+        }
+        for (OperationCountView row : archiveService.countGroupedByOperationAndIsError()) {
+            actual.computeIfAbsent(row.operation(), key -> new long[2])[row.isError() ? ERROR : SUCCESS] += row.count();
+        }
+        for (String operation : before.keySet()) {
+            actual.putIfAbsent(operation, new long[2]);
+        }
+
+        // Correct by what the query saw against the counters just before it ran. A write that
+        // lands while the query runs is already in the counters; if the query also saw its row
+        // it is counted twice, so the error is bounded by the writes during the query and the
+        // next reconcile takes it back out. Slots that keep moving are still corrected.
+        long drift = 0;
+        for (Map.Entry<String, long[]> entry : actual.entrySet()) {
+            long[] seen = before.getOrDefault(entry.getKey(), new long[2]);
+            LongAdder[] adders = adders(entry.getKey());
+
+            for (int slot = SUCCESS; slot <= ERROR; slot++) {
+                long delta = entry.getValue()[slot] - seen[slot];
+                if (delta != 0) {
+                    adders[slot].add(delta);
+                    drift += Math.abs(delta);
+                }
+            }
+        }
+
+        if (drift > 0) {
+            driftCounter.increment(drift);
+            log.debug("Operation counters corrected by {} rows", drift);
+        }
+    }
+
+    private Map<String, long[]> snapshot() {
+        Map<String, long[]> snapshot = new HashMap<>();
+        counters.forEach((operation, adders) ->
+                snapshot.put(operation, new long[] {adders[SUCCESS].sum(), adders[ERROR].sum()}));
+        return snapshot;
+    }
+}
@@ -1,209 +1,740 @@
 package com.app.quantitymeasurement.service.impl;
 
+import com.app.quantitymeasurement.archive.ArchiveSegment;
+import com.app.quantitymeasurement.cache.ExpressionPlanCache;
+import com.app.quantitymeasurement.config.ArithmeticProperties;
+import com.app.quantitymeasurement.config.StreamProperties;
+import com.app.quantitymeasurement.dto.BulkConversionDTO;
+import com.app.quantitymeasurement.dto.BulkConversionResultDTO;
+import com.app.quantitymeasurement.dto.HistoryCursor;
+import com.app.quantitymeasurement.dto.HistoryPageDTO;
+import com.app.quantitymeasurement.dto.OperationCountView;
 import com.app.quantitymeasurement.dto.QuantityDTO;
 import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
+import com.app.quantitymeasurement.dto.QuantityOperationDTO;
 import com.app.quantitymeasurement.exception.QuantityMeasurementException;
+import com.app.quantitymeasurement.expression.ExpressionPlan;
+import com.app.quantitymeasurement.expression.ExpressionTemplate;
 import com.app.quantitymeasurement.model.*;
 import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+import com.app.quantitymeasurement.service.ArchiveService;
+import com.app.quantitymeasurement.service.AuditService;
 import com.app.quantitymeasurement.service.IQuantityMeasurementService;
+import com.app.quantitymeasurement.service.OperationCounterService;
+import com.app.quantitymeasurement.unit.BulkConversion;
+import com.app.quantitymeasurement.unit.Dimension;
+import com.app.quantitymeasurement.unit.FixedPoint;
 import com.app.quantitymeasurement.unit.IMeasurable;
+import com.app.quantitymeasurement.unit.UnitRegistry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class QuantityMeasurementServiceImpl implements IQuantityMeasurementService {
+    private static final String UNKNOWN_TYPE = "unknown";
+
+    // resultMeasurementType of derived quantities no unit type covers, e.g. mass per volume
+    private static final String DERIVED_TYPE = "Derived";
+
     private final QuantityMeasurementRepository repository;
+    private final AuditService auditService;
+    private final OperationCounterService counters;
+    private final ArchiveService archiveService;
+    private final StreamProperties streamProperties;
+    private final JsonMapper jsonMapper;
+    private final ExpressionPlanCache expressionPlans;
+    private final boolean exact;
+
+    // Timers on the per-unit path are resolved once per measurement type rather than looked up per call
+    private final Map<String, Timer> resolutionTimers = new HashMap<>();
+    private final Map<String, Timer> conversionTimers = new HashMap<>();
+    private final Meter.MeterProvider<Timer> operationTimers;
+    private final Meter.MeterProvider<Counter> errorCounters;
+
+    public QuantityMeasurementServiceImpl(QuantityMeasurementRepository repository,
+                                          AuditService auditService,
+                                          OperationCounterService counters,
+                                          ArchiveService archiveService,
+                                          StreamProperties streamProperties,
+                                          JsonMapper jsonMapper,
+                                          ExpressionPlanCache expressionPlans,
+                                          ArithmeticProperties arithmetic,
+                                          MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.auditService = auditService;
+        this.counters = counters;
+        this.archiveService = archiveService;
+        this.streamProperties = streamProperties;
+        this.jsonMapper = jsonMapper;
+        this.expressionPlans = expressionPlans;
+        this.exact = arithmetic.getMode() == ArithmeticProperties.Mode.EXACT;
+
+        List<String> types = new ArrayList<>(UnitRegistry.measurementTypes());
+        types.add(UNKNOWN_TYPE);
+        for (String type : types) {
+            resolutionTimers.put(type, Timer.builder("quantity.unit.resolution")
+                    .description("Time to resolve a unit name to its definition")
+                    .tag("type", type)
+                    .register(meterRegistry));
+            conversionTimers.put(type, Timer.builder("quantity.conversion")
+                    .description("Time spent in unit conversion arithmetic")
+                    .tag("type", type)
+                    .register(meterRegistry));
+        }
+        this.operationTimers = Timer.builder("quantity.operation")
+                .description("End-to-end time of a quantity operation, including the audit write")
+                .withRegistry(meterRegistry);
+        this.errorCounters = Counter.builder("quantity.operation.errors")
+                .description("Operations saved as errors, by exception class")
+                .withRegistry(meterRegistry);
+        FunctionCounter.builder("quantity.arithmetic.exact.fallbacks", FixedPoint.class, type -> FixedPoint.fallbacks())
+                .description("Exact-mode operations that overflowed a long and were redone with BigDecimal")
+                .register(meterRegistry);
+    }
 
+    // Client-supplied type names are only used as tags when they are known, to bound cardinality
+    private static String typeTag(String measurementType) {
+        return UnitRegistry.isSupportedType(measurementType) ? measurementType : UNKNOWN_TYPE;
+    }
 
+    // Parsed requests carry the unit resolved by QuantityDTODeserializer
     private IMeasurable getUnit(QuantityDTO dto) {
-        try {
-            return IMeasurable.getUnitInstance(
-                    dto.unit,
-                    Class.forName("com.app.quantitymeasurement.unit." + dto.measurementType)
-            );
-        } catch (Exception e) {
-        	log.info("Invalid unit " + dto.measurementType);
+        long start = System.nanoTime();
+        IMeasurable unit = dto.measurable();
+        resolutionTimers.get(typeTag(dto.measurementType)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (unit == null) {
+            log.debug("Invalid unit {} for {}", dto.unit, dto.measurementType);
             throw new QuantityMeasurementException("Invalid unit");
         }
+        return unit;
     }
 
     private double toBase(QuantityDTO dto) {
-        return getUnit(dto).convertToBaseUnit(dto.value);
+        IMeasurable unit = getUnit(dto);
+        long start = System.nanoTime();
+        double base = unit.convertToBaseUnit(dto.value);
+        recordConversion(dto.measurementType, start);
+        return base;
+    }
+
+    private double fromBase(double value, IMeasurable unit, String measurementType) {
+        long start = System.nanoTime();
+        double result = unit.convertFromBaseUnit(value);
+        recordConversion(measurementType, start);
+        return result;
     }
 
-    private double fromBase(double value, IMeasurable unit) {
-        return unit.convertFromBaseUnit(value);
+    private void recordConversion(String measurementType, long startNanos) {
+        conversionTimers.get(typeTag(measurementType)).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Exact mode covers linear units; temperatures keep the double path
+    private boolean isExact(IMeasurable unit) {
+        return exact && FixedPoint.supports(unit);
     }
 
     private void validateSameType(QuantityDTO a, QuantityDTO b) {
-        if (!a.measurementType.equals(b.measurementType)) {
+        if (!UnitRegistry.isSameType(getUnit(a), getUnit(b))) {
             throw new QuantityMeasurementException("Different measurement types not allowed");
         }
     }
 
     @Override
     public QuantityMeasurementDTO compare(QuantityDTO thisDTO, QuantityDTO thatDTO) {
+        long start = System.nanoTime();
+        return save(compareEntity(thisDTO, thatDTO), start);
+    }
+
+    private QuantityMeasurementEntity compareEntity(QuantityDTO thisDTO, QuantityDTO thatDTO) {
         try {
-        	log.info("validating compare request");
             validateSameType(thisDTO, thatDTO);
 
-            double base1 = toBase(thisDTO);
-            double base2 = toBase(thatDTO);
-            
-            log.info(base1 + " " + base2);
+            boolean result;
+            IMeasurable unit = getUnit(thisDTO);
+            if (isExact(unit)) {
+                result = FixedPoint.compare(thisDTO.value, unit, thatDTO.value, getUnit(thatDTO)) == 0;
+            } else {
+                double base1 = toBase(thisDTO);
+                double base2 = toBase(thatDTO);
+
+                if (log.isDebugEnabled()) log.debug("Comparing {} and {} in base units", base1, base2);
 
-            boolean result = Double.compare(base1, base2) == 0;
+                result = Double.compare(base1, base2) == 0;
+            }
 
-            return saveAndReturn(thisDTO, thatDTO, OperationType.COMPARE,
+            return buildEntity(thisDTO, thatDTO, OperationType.COMPARE,
                     String.valueOf(result), 0, null, null, false, null);
 
         } catch (Exception e) {
-            return saveError(thisDTO, thatDTO, OperationType.COMPARE, e);
+            return errorEntity(thisDTO, thatDTO, OperationType.COMPARE, e);
         }
     }
 
     @Override
     public QuantityMeasurementDTO convert(QuantityDTO thisDTO, QuantityDTO targetDTO) {
+        long start = System.nanoTime();
+        return save(convertEntity(thisDTO, targetDTO), start);
+    }
+
+    private QuantityMeasurementEntity convertEntity(QuantityDTO thisDTO, QuantityDTO targetDTO) {
         try {
             validateSameType(thisDTO, targetDTO);
 
             IMeasurable source = getUnit(thisDTO);
             IMeasurable target = getUnit(targetDTO);
 
-            double base = source.convertToBaseUnit(thisDTO.value);
-            double result = target.convertFromBaseUnit(base);
+            long start = System.nanoTime();
+            double result = isExact(source)
+                    ? FixedPoint.convert(thisDTO.value, source, target)
+                    : UnitRegistry.convert(thisDTO.value, source, target);
+            recordConversion(thisDTO.measurementType, start);
 
-            return saveAndReturn(thisDTO, targetDTO, OperationType.CONVERT,
+            return buildEntity(thisDTO, targetDTO, OperationType.CONVERT,
                     null, result, targetDTO.unit, targetDTO.measurementType, false, null);
 
         } catch (Exception e) {
-            return saveError(thisDTO, targetDTO, OperationType.CONVERT, e);
+            return errorEntity(thisDTO, targetDTO, OperationType.CONVERT, e);
         }
     }
 
     @Override
     public QuantityMeasurementDTO add(QuantityDTO a, QuantityDTO b) {
+        long start = System.nanoTime();
+        return save(addEntity(a, b), start);
+    }
+
+    private QuantityMeasurementEntity addEntity(QuantityDTO a, QuantityDTO b) {
         try {
             validateSameType(a, b);
 
             IMeasurable unit = getUnit(a);
             unit.validateOperationSupport("ADD");
 
-            double base = toBase(a) + toBase(b);
-            double result = fromBase(base, unit);
+            double result = isExact(unit)
+                    ? FixedPoint.sum(a.value, unit, b.value, getUnit(b), false, unit)
+                    : fromBase(toBase(a) + toBase(b), unit, a.measurementType);
 
-            return saveAndReturn(a, b, OperationType.ADD,
+            return buildEntity(a, b, OperationType.ADD,
                     null, result, a.unit, a.measurementType, false, null);
 
         } catch (Exception e) {
-            return saveError(a, b, OperationType.ADD, e);
+            return errorEntity(a, b, OperationType.ADD, e);
         }
     }
 
     @Override
     public QuantityMeasurementDTO add(QuantityDTO a, QuantityDTO b, QuantityDTO target) {
+        long start = System.nanoTime();
+        return save(addEntity(a, b, target), start);
+    }
+
+    private QuantityMeasurementEntity addEntity(QuantityDTO a, QuantityDTO b, QuantityDTO target) {
         try {
             validateSameType(a, b);
 
             IMeasurable targetUnit = getUnit(target);
 
-            double base = toBase(a) + toBase(b);
-            double result = fromBase(base, targetUnit);
+            double result = isExact(targetUnit)
+                    ? FixedPoint.sum(a.value, getUnit(a), b.value, getUnit(b), false, targetUnit)
+                    : fromBase(toBase(a) + toBase(b), targetUnit, target.measurementType);
 
-            return saveAndReturn(a, b, OperationType.ADD,
+            return buildEntity(a, b, OperationType.ADD,
                     null, result, target.unit, target.measurementType, false, null);
 
         } catch (Exception e) {
-            return saveError(a, b, OperationType.ADD, e);
+            return errorEntity(a, b, OperationType.ADD, e);
         }
     }
 
     @Override
     public QuantityMeasurementDTO subtract(QuantityDTO a, QuantityDTO b) {
+        long start = System.nanoTime();
+        return save(subtractEntity(a, b), start);
+    }
+
+    private QuantityMeasurementEntity subtractEntity(QuantityDTO a, QuantityDTO b) {
         try {
             validateSameType(a, b);
 
             IMeasurable unit = getUnit(a);
             unit.validateOperationSupport("SUBTRACT");
 
-            double base = toBase(a) - toBase(b);
-            double result = fromBase(base, unit);
+            double result = isExact(unit)
+                    ? FixedPoint.sum(a.value, unit, b.value, getUnit(b), true, unit)
+                    : fromBase(toBase(a) - toBase(b), unit, a.measurementType);
 
-            return saveAndReturn(a, b, OperationType.SUBTRACT,
+            return buildEntity(a, b, OperationType.SUBTRACT,
                     null, result, a.unit, a.measurementType, false, null);
 
         } catch (Exception e) {
-            return saveError(a, b, OperationType.SUBTRACT, e);
+            return errorEntity(a, b, OperationType.SUBTRACT, e);
         }
     }
 
     @Override
     public QuantityMeasurementDTO subtract(QuantityDTO a, QuantityDTO b, QuantityDTO target) {
+        long start = System.nanoTime();
+        return save(subtractEntity(a, b, target), start);
+    }
+
+    private QuantityMeasurementEntity subtractEntity(QuantityDTO a, QuantityDTO b, QuantityDTO target) {
         try {
             validateSameType(a, b);
 
             IMeasurable targetUnit = getUnit(target);
 
-            double base = toBase(a) - toBase(b);
-            double result = fromBase(base, targetUnit);
+            double result = isExact(targetUnit)
+                    ? FixedPoint.sum(a.value, getUnit(a), b.value, getUnit(b), true, targetUnit)
+                    : fromBase(toBase(a) - toBase(b), targetUnit, target.measurementType);
 
-            return saveAndReturn(a, b, OperationType.SUBTRACT,
+            return buildEntity(a, b, OperationType.SUBTRACT,
                     null, result, target.unit, target.measurementType, false, null);
 
         } catch (Exception e) {
-            return saveError(a, b, OperationType.SUBTRACT, e);
+            return errorEntity(a, b, OperationType.SUBTRACT, e);
         }
     }
 
     @Override
     public QuantityMeasurementDTO divide(QuantityDTO a, QuantityDTO b) {
+        long start = System.nanoTime();
+        return save(divideEntity(a, b), start);
+    }
+
+    private QuantityMeasurementEntity divideEntity(QuantityDTO a, QuantityDTO b) {
         try {
-            validateSameType(a, b);
+            IMeasurable unitA = getUnit(a);
+            IMeasurable unitB = getUnit(b);
+            int dimensionA = UnitRegistry.dimension(unitA);
+            int dimensionB = UnitRegistry.dimension(unitB);
+
+            // Same dimension: a plain ratio, as before derived quantities existed
+            if (dimensionA == dimensionB) {
+                double result;
+                if (isExact(unitA)) {
+                    if (FixedPoint.compare(b.value, unitB, 0, unitB) == 0) throw new ArithmeticException("Divide by zero");
+                    result = FixedPoint.ratio(a.value, unitA, b.value, unitB);
+                } else {
+                    double base1 = toBase(a);
+                    double base2 = toBase(b);
+
+                    if (base2 == 0) throw new ArithmeticException("Divide by zero");
 
-            double base1 = toBase(a);
-            double base2 = toBase(b);
+                    result = base1 / base2;
+                }
 
-            if (base2 == 0) throw new ArithmeticException("Divide by zero");
+                return buildEntity(a, b, OperationType.DIVIDE,
+                        null, result, null, null, false, null);
+            }
 
-            double result = base1 / base2;
+            unitA.validateOperationSupport("DIVIDE");
+            unitB.validateOperationSupport("DIVIDE");
 
-            return saveAndReturn(a, b, OperationType.DIVIDE,
-                    null, result, null, null, false, null);
+            double denominator = b.value * UnitRegistry.coherentScale(unitB);
+            if (denominator == 0) throw new ArithmeticException("Divide by zero");
+
+            return derivedEntity(a, b, null, OperationType.DIVIDE,
+                    Dimension.divide(dimensionA, dimensionB),
+                    a.value * UnitRegistry.coherentScale(unitA) / denominator,
+                    UnitRegistry.coherentScale(unitA) / UnitRegistry.coherentScale(unitB));
 
         } catch (Exception e) {
-            return saveError(a, b, OperationType.DIVIDE, e);
+            return errorEntity(a, b, OperationType.DIVIDE, e);
         }
     }
 
     @Override
-    public List<QuantityMeasurementDTO> getOperationHistory(String operation) {
-        return QuantityMeasurementDTO.fromList(repository.findByOperation(operation));
+    public QuantityMeasurementDTO multiply(QuantityDTO a, QuantityDTO b) {
+        long start = System.nanoTime();
+        return save(multiplyEntity(a, b, null), start);
     }
 
     @Override
-    public List<QuantityMeasurementDTO> getMeasurementsByType(String type) {
-        return QuantityMeasurementDTO.fromList(repository.findByThisMeasurementType(type));
+    public QuantityMeasurementDTO multiply(QuantityDTO a, QuantityDTO b, QuantityDTO target) {
+        long start = System.nanoTime();
+        return save(multiplyEntity(a, b, target), start);
+    }
+
+    private QuantityMeasurementEntity multiplyEntity(QuantityDTO a, QuantityDTO b, QuantityDTO target) {
+        try {
+            IMeasurable unitA = getUnit(a);
+            IMeasurable unitB = getUnit(b);
+            unitA.validateOperationSupport("MULTIPLY");
+            unitB.validateOperationSupport("MULTIPLY");
+
+            double scaleA = UnitRegistry.coherentScale(unitA);
+            double scaleB = UnitRegistry.coherentScale(unitB);
+
+            return derivedEntity(a, b, target, OperationType.MULTIPLY,
+                    Dimension.multiply(UnitRegistry.dimension(unitA), UnitRegistry.dimension(unitB)),
+                    a.value * scaleA * b.value * scaleB,
+                    scaleA * scaleB);
+
+        } catch (Exception e) {
+            return errorEntity(a, b, OperationType.MULTIPLY, e);
+        }
+    }
+
+    /**
+     * Expresses a coherent value (in products of INCHES, GRAM, CELSIUS) of the given dimension in
+     * the target unit, else in the unit the operands naturally give (FEET x FEET is SQUARE_FEET).
+     * Dimensions without a unit type, such as mass per volume, are reported in coherent units.
+     */
+    private QuantityMeasurementEntity derivedEntity(QuantityDTO a, QuantityDTO b, QuantityDTO target,
+                                                    OperationType op, int dimension,
+                                                    double coherentValue, double naturalScale) {
+        IMeasurable unit;
+        if (target != null) {
+            unit = getUnit(target);
+            if (UnitRegistry.dimension(unit) != dimension) {
+                throw new QuantityMeasurementException(
+                        "Result is in " + UnitRegistry.coherentUnitName(dimension) + ", not convertible to " + target.unit);
+            }
+        } else {
+            unit = UnitRegistry.unitFor(dimension, naturalScale);
+        }
+
+        if (unit == null) {
+            double result = Math.round(coherentValue * 100.0) / 100.0;
+            return buildEntity(a, b, op, null, result,
+                    UnitRegistry.coherentUnitName(dimension), DERIVED_TYPE, false, null);
+        }
+
+        long start = System.nanoTime();
+        double result = Math.round(coherentValue / UnitRegistry.coherentScale(unit) * 100.0) / 100.0;
+        recordConversion(unit.getMeasurementType(), start);
+        return buildEntity(a, b, op, null, result,
+                unit.getUnitName(), unit.getMeasurementType(), false, null);
     }
 
     @Override
-    public long getOperationCount(String operation) {
-        return repository.countByOperationAndIsErrorFalse(operation);
+    public List<QuantityMeasurementDTO> batch(List<QuantityOperationDTO> operations) {
+        long start = System.nanoTime();
+        // Operations are independent, so compute them across cores; toList() keeps request order
+        List<QuantityMeasurementEntity> entities = IntStream.range(0, operations.size())
+                .parallel()
+                .mapToObj(i -> evaluate(operations.get(i)))
+                .toList();
+
+        auditService.recordAll(entities);
+        recordOperation("BATCH", null, false, start);
+        return QuantityMeasurementDTO.fromList(entities);
     }
 
+    private QuantityMeasurementEntity evaluate(QuantityOperationDTO operation) {
+        QuantityDTO a = operation.getThisQuantityDTO();
+        QuantityDTO b = operation.getThatQuantityDTO();
+        QuantityDTO target = operation.getTargetQuantityDTO();
+
+        return switch (operation.getOperation()) {
+            case COMPARE -> compareEntity(a, b);
+            case CONVERT -> convertEntity(a, b);
+            case ADD -> target == null ? addEntity(a, b) : addEntity(a, b, target);
+            case SUBTRACT -> target == null ? subtractEntity(a, b) : subtractEntity(a, b, target);
+            case DIVIDE -> divideEntity(a, b);
+            case MULTIPLY -> multiplyEntity(a, b, target);
+            default -> errorEntity(a, b, operation.getOperation(),
+                    new QuantityMeasurementException(operation.getOperation() + " is not supported in a batch"));
+        };
+    }
+
+    // Blocking reads and writes give flow control for free: while the client is not reading results,
+    // writes block, no further input is read, and memory stays at one line plus one audit chunk
     @Override
-    public List<QuantityMeasurementDTO> getErrorHistory() {
-        return QuantityMeasurementDTO.fromList(repository.findByIsErrorTrue());
+    public long stream(InputStream input, OutputStream output) throws IOException {
+        InputStream in = new BufferedInputStream(input);
+        byte[] line = new byte[streamProperties.getMaxLineBytes()];
+        int chunkSize = streamProperties.getAuditChunkSize();
+        List<QuantityMeasurementEntity> chunk = new ArrayList<>(chunkSize);
+        long count = 0;
+        long lineNumber = 0;
+
+        ObjectWriter writer = jsonMapper.writer()
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator results = writer.createGenerator(output)) {
+            int length;
+            while ((length = readLine(in, line)) >= 0) {
+                lineNumber++;
+                if (length == 0) continue;
+                count++;
+
+                if (length > line.length) {
+                    writer.writeValue(results, rejected(lineNumber, "Line longer than " + line.length + " bytes, stream ended"));
+                    results.writeRaw('\n');
+                    break;
+                }
+
+                long start = System.nanoTime();
+                QuantityMeasurementDTO result;
+                try {
+                    QuantityOperationDTO operation = jsonMapper.readValue(line, 0, length, QuantityOperationDTO.class);
+                    if (operation.getOperation() == null
+                            || operation.getThisQuantityDTO() == null
+                            || operation.getThatQuantityDTO() == null) {
+                        result = rejected(lineNumber, "operation, thisQuantityDTO and thatQuantityDTO are required");
+                    } else {
+                        QuantityMeasurementEntity entity = evaluate(operation);
+                        chunk.add(entity);
+                        recordOperation(entity.operation, entity.thisMeasurementType, entity.isError, start);
+                        result = QuantityMeasurementDTO.from(entity);
+                    }
+                } catch (JacksonException e) {
+                    result = rejected(lineNumber, e.getOriginalMessage());
+                }
+                writer.writeValue(results, result);
+                results.writeRaw('\n');
+
+                // Hand over audit rows and push results out whenever the producer pauses
+                boolean idle = in.available() == 0;
+                if (!chunk.isEmpty() && (idle || chunk.size() >= chunkSize)) {
+                    auditService.recordAll(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+                if (idle) results.flush();
+            }
+        } finally {
+            if (!chunk.isEmpty()) auditService.recordAll(chunk);
+        }
+        return count;
+    }
+
+    // Reads one line into buffer: its length, -1 at the end of input, buffer.length + 1 if it does not fit
+    private static int readLine(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (length == buffer.length) return buffer.length + 1;
+            buffer[length++] = (byte) b;
+        }
+        if (b == -1 && length == 0) return -1;
+        if (length > 0 && buffer[length - 1] == '\r') length--;
+        return length;
     }
 
+    private static QuantityMeasurementDTO rejected(long lineNumber, String message) {
+        QuantityMeasurementDTO result = new QuantityMeasurementDTO();
+        result.error = true;
+        result.errorMessage = "Line " + lineNumber + ": " + message;
+        return result;
+    }
+
+    // Only the numbers are read on a cache hit: parsing and unit resolution happen once per shape
+    @Override
+    public QuantityMeasurementDTO evaluateExpression(String expression) {
+        long start = System.nanoTime();
+        ExpressionTemplate template;
+        ExpressionPlan plan;
+        try {
+            template = ExpressionTemplate.of(expression);
+            plan = expressionPlans.get(template.shape());
+        } catch (QuantityMeasurementException e) {
+            errorCounters.withTags("operation", OperationType.EXPRESSION.name(), "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        }
+
+        double result = plan.evaluate(template.values());
+        String type = plan.resultUnit().getMeasurementType();
+        String resultUnit = plan.resultUnit().getUnitName();
+
+        // One row per evaluation: this holds the first term, that the result unit, resultString the expression
+        QuantityMeasurementEntity entity =
+                new QuantityMeasurementEntity(
+                        template.values()[0], plan.firstUnit().getUnitName(), type,
+                        0, resultUnit, type,
+                        OperationType.EXPRESSION.name(),
+                        result,
+                        resultUnit,
+                        type
+                );
+        entity.resultString = expression;
+        return save(entity, start);
+    }
+
+    @Override
+    public BulkConversionResultDTO convertBulk(BulkConversionDTO input) {
+        long start = System.nanoTime();
+        BulkConversionResultDTO result = new BulkConversionResultDTO();
+        result.measurementType = input.getMeasurementType();
+        result.sourceUnit = input.getSourceUnit();
+        result.targetUnit = input.getTargetUnit();
+        result.count = input.getValues().length;
+
+        try {
+            IMeasurable source = UnitRegistry.find(input.getMeasurementType(), input.getSourceUnit());
+            IMeasurable target = UnitRegistry.find(input.getMeasurementType(), input.getTargetUnit());
+            if (source == null || target == null) throw new QuantityMeasurementException("Invalid unit");
+
+            result.values = BulkConversion.convert(input.getValues(), source, target);
+        } catch (Exception e) {
+            errorCounters.withTags("operation", OperationType.BULK_CONVERT.name(), "exception", e.getClass().getSimpleName()).increment();
+            result.error = true;
+            result.errorMessage = e.getMessage();
+        }
+
+        // One summary row per batch instead of one per value. The batch size goes in resultString
+        // only; the value columns stay 0 because history, rollups and the archive read them as quantities
+        QuantityMeasurementEntity summary =
+                new QuantityMeasurementEntity(
+                        0, result.sourceUnit, result.measurementType,
+                        0, result.targetUnit, result.measurementType,
+                        OperationType.BULK_CONVERT.name(),
+                        0,
+                        result.targetUnit,
+                        result.measurementType
+                );
+
+        summary.resultString = result.count + " values";
+        summary.isError = result.error;
+        summary.errorMessage = result.errorMessage;
+        auditService.record(summary);
+        recordOperation(summary.operation, summary.thisMeasurementType, summary.isError, start);
+
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HistoryPageDTO getOperationHistory(String operation, String cursor, int size) {
+        return historyPage(cursor, size,
+                limit -> repository.findHistoryByOperation(operation, limit),
+                (after, limit) -> repository.findHistoryByOperationAfter(operation, after.createdAt(), after.id(), limit),
+                (after, limit) -> archiveService.findByOperation(operation, after, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HistoryPageDTO getMeasurementsByType(String type, String cursor, int size) {
+        return historyPage(cursor, size,
+                limit -> repository.findHistoryByType(type, limit),
+                (after, limit) -> repository.findHistoryByTypeAfter(type, after.createdAt(), after.id(), limit),
+                (after, limit) -> archiveService.findByType(type, after, limit));
+    }
+
+    @Override
+    public long getOperationCount(String operation, boolean exact) {
+        if (exact) {
+            long archived = 0;
+            for (OperationCountView row : archiveService.countGroupedByOperationAndIsError()) {
+                if (!row.isError() && row.operation().equals(operation)) archived += row.count();
+            }
+            return repository.countByOperationAndIsErrorFalse(operation) + archived;
+        }
+        return counters.successCount(operation);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HistoryPageDTO getErrorHistory(String cursor, int size) {
+        return historyPage(cursor, size,
+                repository::findErrorHistory,
+                (after, limit) -> repository.findErrorHistoryAfter(after.createdAt(), after.id(), limit),
+                archiveService::findErrors);
+    }
+
+    private HistoryPageDTO historyPage(
+            String cursor,
+            int size,
+            Function<Limit, List<QuantityMeasurementView>> firstPage,
+            BiFunction<HistoryCursor, Limit, List<QuantityMeasurementView>> nextPage,
+            BiFunction<HistoryCursor, Integer, List<QuantityMeasurementView>> archivedPage) {
+
+        int pageSize = Math.min(Math.max(size, 1), HistoryPageDTO.MAX_PAGE_SIZE);
+
+        // one extra row tells us whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        HistoryCursor after = (cursor == null || cursor.isBlank()) ? null : HistoryCursor.decode(cursor);
+        List<QuantityMeasurementView> rows = after == null
+                ? firstPage.apply(limit)
+                : nextPage.apply(after, limit);
+
+        // Archived rows are older than the table's, so segments are only scanned once the table
+        // runs out or the newest archived row would still fall on this page
+        HistoryCursor newestArchived = archiveService.newest();
+        if (newestArchived != null && (rows.size() <= pageSize
+                || newestArchived.compareTo(new HistoryCursor(rows.get(pageSize).createdAt(), rows.get(pageSize).id())) > 0)) {
+            rows = merge(rows, archivedPage.apply(after, pageSize + 1), pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            QuantityMeasurementView last = rows.get(pageSize - 1);
+            nextCursor = new HistoryCursor(last.createdAt(), last.id()).encode();
+        }
+
+        List<QuantityMeasurementDTO> items = new ArrayList<>(rows.size());
+        for (QuantityMeasurementView row : rows) {
+            items.add(QuantityMeasurementDTO.from(row));
+        }
+        return new HistoryPageDTO(items, nextCursor);
+    }
+
+    // Both lists newest first; a row archived but not yet deleted from the table is kept once
+    private static List<QuantityMeasurementView> merge(
+            List<QuantityMeasurementView> table, List<QuantityMeasurementView> archived, int limit) {
+        List<QuantityMeasurementView> all = new ArrayList<>(table.size() + archived.size());
+        all.addAll(table);
+        all.addAll(archived);
+        all.sort(ArchiveSegment.NEWEST_FIRST);
+
+        List<QuantityMeasurementView> merged = new ArrayList<>(limit);
+        for (QuantityMeasurementView row : all) {
+            if (!merged.isEmpty() && merged.get(merged.size() - 1).id().equals(row.id())) continue;
+            merged.add(row);
+            if (merged.size() == limit) break;
+        }
+        return merged;
+    }
+
+
+    // The response is built from the computed entity, so it does not wait for the audit write
+    private QuantityMeasurementDTO save(QuantityMeasurementEntity entity, long startNanos) {
+        auditService.record(entity);
+        recordOperation(entity.operation, entity.thisMeasurementType, entity.isError, startNanos);
+        return QuantityMeasurementDTO.from(entity);
+    }
+
+    private void recordOperation(String operation, String measurementType, boolean error, long startNanos) {
+        operationTimers.withTags(
+                        "operation", operation,
+                        "type", typeTag(measurementType),
+                        "outcome", error ? "error" : "success")
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
 
-    private QuantityMeasurementDTO saveAndReturn(
+    private QuantityMeasurementEntity buildEntity(
             QuantityDTO a,
             QuantityDTO b,
             OperationType op,
@@ -228,15 +759,17 @@ public class QuantityMeasurementServiceImpl implements IQuantityMeasurementServi
         entity.isError = error;
         entity.errorMessage = errorMsg;
 
-        return QuantityMeasurementDTO.from(repository.save(entity));
+        return entity;
     }
 
-    private QuantityMeasurementDTO saveError(
+    private QuantityMeasurementEntity errorEntity(
             QuantityDTO a,
             QuantityDTO b,
             OperationType op,
             Exception e) {
 
-        return saveAndReturn(a, b, op, null, 0, null, null, true, e.getMessage());
+        errorCounters.withTags("operation", op.name(), "exception", e.getClass().getSimpleName()).increment();
+        log.info("{} failed for {} and {}: {}", op, a, b, e.getMessage());
+        return buildEntity(a, b, op, null, 0, null, null, true, e.getMessage());
     }
 }
@@ -0,0 +1,262 @@
+package com.app.quantitymeasurement.service.impl;
+
+import com.app.quantitymeasurement.config.RollupProperties;
+import com.app.quantitymeasurement.dto.StatsBucketDTO;
+import com.app.quantitymeasurement.exception.QuantityMeasurementException;
+import com.app.quantitymeasurement.model.OperationRollupEntity;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.model.RollupGranularity;
+import com.app.quantitymeasurement.repository.OperationRollupRepository;
+import com.app.quantitymeasurement.service.RollupService;
+import com.app.quantitymeasurement.unit.IMeasurable;
+import com.app.quantitymeasurement.unit.UnitRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per-minute aggregates of audit rows in memory, adds them into operation_rollup
+ * every flush interval and compacts old minute/hour buckets into hour/day buckets, so
+ * statistics are answered from a few thousand rollup rows instead of the audit table.
+ * Flushes increment bucket rows in place, so every node can flush into the same buckets.
+ */
+@Slf4j
+@Service
+public class RollupServiceImpl implements RollupService {
+    private static final long MAX_BUCKETS = 10_000;
+
+    private final OperationRollupRepository repository;
+    private final RollupProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Minute buckets not yet written to the table
+    private final Map<BucketKey, Accumulator> pending = new ConcurrentHashMap<>();
+
+    private record BucketKey(LocalDateTime bucketStart, String operation, String measurementType, boolean isError) {
+    }
+
+    private static final class Accumulator {
+        long count;
+        long valueCount;
+        double sum;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        void add(double value) {
+            count++;
+            if (Double.isNaN(value)) return;
+            valueCount++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        void merge(OperationRollupEntity row) {
+            count += row.count;
+            valueCount += row.valueCount;
+            sum += row.sum;
+            if (row.min != null) min = Math.min(min, row.min);
+            if (row.max != null) max = Math.max(max, row.max);
+        }
+
+        Double minOrNull() {
+            return valueCount == 0 ? null : min;
+        }
+
+        Double maxOrNull() {
+            return valueCount == 0 ? null : max;
+        }
+    }
+
+    public RollupServiceImpl(OperationRollupRepository repository,
+                             RollupProperties properties,
+                             PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void recorded(QuantityMeasurementEntity entity) {
+        LocalDateTime createdAt = entity.createdAt != null ? entity.createdAt : LocalDateTime.now();
+        BucketKey key = new BucketKey(RollupGranularity.MINUTE.truncate(createdAt),
+                entity.operation, entity.thisMeasurementType, entity.isError);
+        double value = baseValue(entity);
+
+        // compute is atomic per key, so an update never lands on an accumulator flush() already took
+        pending.compute(key, (k, accumulator) -> {
+            if (accumulator == null) accumulator = new Accumulator();
+            accumulator.add(value);
+            return accumulator;
+        });
+    }
+
+    @Override
+    public void recordedAll(List<QuantityMeasurementEntity> entities) {
+        for (QuantityMeasurementEntity entity : entities) {
+            recorded(entity);
+        }
+    }
+
+    private static double baseValue(QuantityMeasurementEntity entity) {
+        IMeasurable unit = UnitRegistry.find(entity.thisMeasurementType, entity.thisUnit);
+        return unit == null ? Double.NaN : unit.convertToBaseUnit(entity.thisValue);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${quantity.rollup.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        Map<BucketKey, Accumulator> batch = new HashMap<>();
+        for (BucketKey key : pending.keySet()) {
+            Accumulator accumulator = pending.remove(key);
+            if (accumulator != null) batch.put(key, accumulator);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<OperationRollupEntity> created = new ArrayList<>();
+                batch.forEach((key, accumulator) -> {
+                    int updated = repository.addToBucket(RollupGranularity.MINUTE, key.bucketStart(),
+                            key.operation(), key.measurementType(), key.isError(),
+                            accumulator.count, accumulator.valueCount, accumulator.sum,
+                            accumulator.minOrNull(), accumulator.maxOrNull());
+                    if (updated == 0) {
+                        OperationRollupEntity row = new OperationRollupEntity(RollupGranularity.MINUTE,
+                                key.bucketStart(), key.operation(), key.measurementType(), key.isError());
+                        row.merge(accumulator.count, accumulator.valueCount, accumulator.sum,
+                                accumulator.minOrNull(), accumulator.maxOrNull());
+                        created.add(row);
+                    }
+                });
+                repository.saveAll(created);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created one of the new buckets first; the whole batch rolled back,
+            // and on the next flush the bucket exists and is updated in place
+            log.info("Rollup bucket created concurrently, retrying {} buckets on the next flush", batch.size());
+            requeue(batch);
+        } catch (Exception e) {
+            log.error("Failed to flush {} rollup buckets, retrying on the next flush", batch.size(), e);
+            requeue(batch);
+        }
+    }
+
+    private void requeue(Map<BucketKey, Accumulator> batch) {
+        batch.forEach((key, accumulator) -> pending.merge(key, accumulator, (current, failed) -> {
+            current.count += failed.count;
+            current.valueCount += failed.valueCount;
+            current.sum += failed.sum;
+            current.min = Math.min(current.min, failed.min);
+            current.max = Math.max(current.max, failed.max);
+            return current;
+        }));
+    }
+
+    private OperationRollupEntity bucket(RollupGranularity granularity, BucketKey key) {
+        return repository.findBucket(granularity, key.bucketStart(), key.operation(), key.measurementType(), key.isError())
+                .orElseGet(() -> new OperationRollupEntity(granularity, key.bucketStart(),
+                        key.operation(), key.measurementType(), key.isError()));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${quantity.rollup.compaction-interval-ms:3600000}",
+            initialDelayString = "${quantity.rollup.compaction-interval-ms:3600000}")
+    public void compact() {
+        LocalDateTime now = LocalDateTime.now();
+        int minutes = compact(RollupGranularity.MINUTE, RollupGranularity.HOUR,
+                now.minusHours(properties.getMinuteRetentionHours()));
+        int hours = compact(RollupGranularity.HOUR, RollupGranularity.DAY,
+                now.minusDays(properties.getHourRetentionDays()));
+
+        if (minutes + hours > 0) {
+            log.info("Compacted {} minute and {} hour rollup buckets", minutes, hours);
+        }
+    }
+
+    private int compact(RollupGranularity from, RollupGranularity to, LocalDateTime cutoff) {
+        // Only whole target buckets are folded, so a bucket is never split across granularities
+        List<OperationRollupEntity> rows = repository.findByGranularityAndBucketStartBefore(from, to.truncate(cutoff));
+        if (rows.isEmpty()) return 0;
+
+        Map<BucketKey, OperationRollupEntity> targets = new HashMap<>();
+        for (OperationRollupEntity row : rows) {
+            BucketKey key = new BucketKey(to.truncate(row.bucketStart), row.operation, row.measurementType, row.isError);
+            targets.computeIfAbsent(key, k -> bucket(to, k)).merge(row);
+        }
+
+        // Versioned deletes, so rows a flush added to after they were read roll the compaction back
+        repository.saveAll(targets.values());
+        repository.deleteAll(rows);
+        return rows.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StatsBucketDTO> getStats(String operation, String measurementType, Boolean isError,
+                                         RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = granularity.truncate(from);
+        if (!start.isBefore(to)) {
+            throw new QuantityMeasurementException("'from' must be before 'to'");
+        }
+        if (ChronoUnit.MINUTES.between(start, to) / minutesIn(granularity) > MAX_BUCKETS) {
+            throw new QuantityMeasurementException("Range spans more than " + MAX_BUCKETS + " " + granularity + " buckets");
+        }
+
+        // Finer buckets are summed into the requested granularity; coarser ones (already
+        // compacted) are reported at their own start
+        Map<LocalDateTime, Accumulator> buckets = new TreeMap<>();
+        for (OperationRollupEntity row : repository.findForStats(operation, measurementType, isError, start, to)) {
+            LocalDateTime bucketStart = row.granularity.compareTo(granularity) <= 0
+                    ? granularity.truncate(row.bucketStart)
+                    : row.bucketStart;
+            buckets.computeIfAbsent(bucketStart, k -> new Accumulator()).merge(row);
+        }
+
+        List<StatsBucketDTO> stats = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, accumulator) -> {
+            boolean hasValues = accumulator.valueCount > 0;
+            stats.add(new StatsBucketDTO(
+                    bucketStart,
+                    accumulator.count,
+                    hasValues ? accumulator.sum : null,
+                    accumulator.minOrNull(),
+                    accumulator.maxOrNull(),
+                    hasValues ? accumulator.sum / accumulator.valueCount : null));
+        });
+        return stats;
+    }
+
+    private static long minutesIn(RollupGranularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> 1;
+            case HOUR -> 60;
+            case DAY -> 1440;
+        };
+    }
+
+    // Audit rows drained on shutdown are recorded before this bean is destroyed
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.quantitymeasurement.service.impl;
 
+import com.app.quantitymeasurement.cache.UserDetailsCache;
 import com.app.quantitymeasurement.dto.LoginDto;
 import com.app.quantitymeasurement.dto.SignupDto;
 import com.app.quantitymeasurement.dto.UserDto;
@@ -7,6 +8,7 @@ import com.app.quantitymeasurement.exception.UserNotFoundException;
 import com.app.quantitymeasurement.mapper.Mapper;
 import com.app.quantitymeasurement.model.User;
 import com.app.quantitymeasurement.repository.UserRepo;
+import com.app.quantitymeasurement.service.AuthWorkerPool;
 import com.app.quantitymeasurement.service.JWTService;
 import com.app.quantitymeasurement.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -25,12 +27,17 @@ public class UserServiceImpl implements UserService{
 	private final BCryptPasswordEncoder passwordEncoder;
 	private final AuthenticationManager authenticationManager;
 	private final JWTService jwtService;
+	private final UserDetailsCache userDetailsCache;
+	private final AuthWorkerPool authWorkerPool;
 	@Override
-	public UserDto createUser(SignupDto signupDto) {
+	public UserDto createUser(SignupDto signupDto, String clientIp) {
 		User user = signupRequestMapper.mapTo(signupDto);
-		user.setPassword(passwordEncoder.encode(signupDto.getPassword()));
+		// BCrypt runs on the bounded auth pool, not the request thread
+		user.setPassword(authWorkerPool.execute(clientIp, signupDto.getEmail(),
+				() -> passwordEncoder.encode(signupDto.getPassword())));
 
 		User savedUser = userRepo.save(user);
+		userDetailsCache.invalidate(savedUser.getEmail());
 		return userResponseMapper.mapTo(savedUser);
 	}
 
@@ -42,9 +49,10 @@ public class UserServiceImpl implements UserService{
 	}
 
 	@Override
-	public String login(LoginDto loginDto) {
-		Authentication authentication = authenticationManager
-				.authenticate(new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword()));
+	public String login(LoginDto loginDto, String clientIp) {
+		Authentication authentication = authWorkerPool.execute(clientIp, loginDto.getEmail(),
+				() -> authenticationManager.authenticate(
+						new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword())));
 		String token = jwtService.generateToken(authentication.getName());
 		return token;
 	}
@@ -0,0 +1,29 @@
+package com.app.quantitymeasurement.unit;
+
+public enum AreaUnit implements IMeasurable {
+    SQUARE_FEET(LengthUnit.FEET),
+    SQUARE_INCHES(LengthUnit.INCHES),
+    SQUARE_YARDS(LengthUnit.YARDS),
+    SQUARE_CENTIMETERS(LengthUnit.CENTIMETERS);
+
+    // base unit is SQUARE_INCHES, the square of LengthUnit's base unit, so Length x Length needs no extra factor
+    private final double conversionFactor;
+
+    AreaUnit(LengthUnit side) {
+        this.conversionFactor = side.getConversionFactor() * side.getConversionFactor();
+    }
+
+    @Override
+    public double getConversionFactor() {
+        return conversionFactor;
+    }
+
+    @Override
+    public String getUnitName() {
+        return this.name();
+    }
+
+    public String getMeasurementType() {
+        return this.getClass().getSimpleName();
+    }
+}
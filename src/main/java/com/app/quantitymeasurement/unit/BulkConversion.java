@@ -0,0 +1,37 @@
+package com.app.quantitymeasurement.unit;
+
+/**
+ * Converts whole arrays of values between two units of the same measurement type,
+ * using the Vector API when it is available and a plain primitive loop otherwise.
+ * Results are rounded to two decimals, matching {@link UnitRegistry#convert}.
+ */
+public final class BulkConversion {
+    private static final boolean VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private BulkConversion() {
+    }
+
+    public static boolean isVectorized() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    public static double[] convert(double[] values, IMeasurable source, IMeasurable target) {
+        double[] result = new double[values.length];
+        double scale = UnitRegistry.scale(source, target);
+        double offset = UnitRegistry.offset(source, target);
+
+        if (VECTOR_API_AVAILABLE) {
+            VectorizedConversion.convert(values, result, scale, offset);
+        } else {
+            convertScalar(values, result, 0, scale, offset);
+        }
+        return result;
+    }
+
+    static void convertScalar(double[] values, double[] result, int from, double scale, double offset) {
+        for (int i = from; i < values.length; i++) {
+            result[i] = Math.round((values[i] * scale + offset) * 100.0) / 100.0;
+        }
+    }
+}
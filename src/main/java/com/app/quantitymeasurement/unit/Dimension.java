@@ -0,0 +1,43 @@
+package com.app.quantitymeasurement.unit;
+
+/**
+ * Dimension exponents packed into one int, a signed byte per base dimension:
+ * bits 0-7 length, 8-15 mass, 16-23 temperature. Equal dimensions are equal ints, and
+ * multiplying or dividing quantities adds or subtracts the bytes lane by lane (SWAR),
+ * so no carry crosses from one exponent into the next.
+ */
+public final class Dimension {
+    public static final int BASE_COUNT = 3;
+    public static final int LENGTH_INDEX = 0;
+    public static final int MASS_INDEX = 1;
+    public static final int TEMPERATURE_INDEX = 2;
+
+    public static final int DIMENSIONLESS = 0;
+    public static final int LENGTH = of(1, 0, 0);
+    public static final int AREA = of(2, 0, 0);
+    public static final int VOLUME = of(3, 0, 0);
+    public static final int MASS = of(0, 1, 0);
+    public static final int TEMPERATURE = of(0, 0, 1);
+
+    // sign bit of every byte lane
+    private static final int HIGH_BITS = 0x80808080;
+
+    private Dimension() {
+    }
+
+    public static int of(int length, int mass, int temperature) {
+        return (length & 0xFF) | (mass & 0xFF) << 8 | (temperature & 0xFF) << 16;
+    }
+
+    public static int multiply(int a, int b) {
+        return ((a & ~HIGH_BITS) + (b & ~HIGH_BITS)) ^ ((a ^ b) & HIGH_BITS);
+    }
+
+    public static int divide(int a, int b) {
+        return ((a | HIGH_BITS) - (b & ~HIGH_BITS)) ^ ((a ^ ~b) & HIGH_BITS);
+    }
+
+    public static int exponent(int dimension, int baseIndex) {
+        return (byte) (dimension >>> (8 * baseIndex));
+    }
+}
@@ -0,0 +1,177 @@
+package com.app.quantitymeasurement.unit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exact arithmetic on linear units with scaled longs instead of rounded doubles.
+ *
+ * Input values are read as decimals with VALUE_DECIMALS places. Each unit type gets its own
+ * scale: the most decimal places among its conversion factors (6 for CENTIMETERS, 3 for
+ * MILLIGRAM), so every factor is an exact long mantissa and a value in base units is
+ * value * mantissa at VALUE_DECIMALS + that many places, with no rounding. Results are
+ * rounded once, half-even, to VALUE_DECIMALS places when converted back to a unit.
+ *
+ * A long overflow is detected with the Math.*Exact methods, and that operation is redone
+ * with BigDecimal at the same scales, so both paths agree for inputs of up to VALUE_DECIMALS places.
+ * Types with an offset (TemperatureUnit) are not supported; see {@link #supports}.
+ */
+public final class FixedPoint {
+    public static final int VALUE_DECIMALS = 6;
+
+    // Factors with more places than this would leave no headroom in a long
+    private static final int MAX_FACTOR_DECIMALS = 12;
+
+    private static final double VALUE_MULTIPLIER = 1e6;
+    private static final double MAX_EXACT_DOUBLE = 0x1p53;
+
+    // per unit type: decimal places of its factors and each unit's factor as a mantissa, by ordinal
+    private record Scale(int decimals, long[] mantissas) {
+    }
+
+    private static final Scale UNSUPPORTED = new Scale(0, null);
+
+    private static final ClassValue<Scale> SCALES = new ClassValue<>() {
+        @Override
+        protected Scale computeValue(Class<?> type) {
+            IMeasurable[] units = (IMeasurable[]) type.getEnumConstants();
+            int decimals = 0;
+            for (IMeasurable unit : units) {
+                if (unit.getOffset() != 0.0) return UNSUPPORTED;
+                decimals = Math.max(decimals, Math.max(0, BigDecimal.valueOf(unit.getScale()).stripTrailingZeros().scale()));
+            }
+            if (decimals > MAX_FACTOR_DECIMALS) return UNSUPPORTED;
+
+            long[] mantissas = new long[units.length];
+            for (IMeasurable unit : units) {
+                mantissas[((Enum<?>) unit).ordinal()] =
+                        BigDecimal.valueOf(unit.getScale()).movePointRight(decimals).longValueExact();
+            }
+            return new Scale(decimals, mantissas);
+        }
+    };
+
+    private static final LongAdder FALLBACKS = new LongAdder();
+
+    private FixedPoint() {
+    }
+
+    public static boolean supports(IMeasurable unit) {
+        return scale(unit).mantissas() != null;
+    }
+
+    // Operations redone with BigDecimal because the long path overflowed
+    public static long fallbacks() {
+        return FALLBACKS.sum();
+    }
+
+    public static double convert(double value, IMeasurable source, IMeasurable target) {
+        try {
+            return fromBase(toBase(value, source), target);
+        } catch (ArithmeticException overflow) {
+            FALLBACKS.increment();
+            return convertDecimal(value, source, target);
+        }
+    }
+
+    // a + b, or a - b when subtract is set, expressed in target; all three units of one type
+    public static double sum(double a, IMeasurable unitA, double b, IMeasurable unitB, boolean subtract, IMeasurable target) {
+        try {
+            long baseA = toBase(a, unitA);
+            long baseB = toBase(b, unitB);
+            return fromBase(subtract ? Math.subtractExact(baseA, baseB) : Math.addExact(baseA, baseB), target);
+        } catch (ArithmeticException overflow) {
+            FALLBACKS.increment();
+            return sumDecimal(a, unitA, b, unitB, subtract, target);
+        }
+    }
+
+    public static int compare(double a, IMeasurable unitA, double b, IMeasurable unitB) {
+        try {
+            return Long.compare(toBase(a, unitA), toBase(b, unitB));
+        } catch (ArithmeticException overflow) {
+            FALLBACKS.increment();
+            return compareDecimal(a, unitA, b, unitB);
+        }
+    }
+
+    // a / b of two quantities of one type; the caller rejects a zero divisor
+    public static double ratio(double a, IMeasurable unitA, double b, IMeasurable unitB) {
+        try {
+            long baseA = toBase(a, unitA);
+            long baseB = toBase(b, unitB);
+            // Both exact as doubles, so the one division is correctly rounded
+            if (Math.abs(baseA) <= MAX_EXACT_DOUBLE && Math.abs(baseB) <= MAX_EXACT_DOUBLE) {
+                return (double) baseA / (double) baseB;
+            }
+        } catch (ArithmeticException overflow) {
+            // fall through
+        }
+        FALLBACKS.increment();
+        return ratioDecimal(a, unitA, b, unitB);
+    }
+
+    // BigDecimal versions: the overflow fallback, public so benchmarks can compare the two
+
+    public static double convertDecimal(double value, IMeasurable source, IMeasurable target) {
+        return fromBaseDecimal(toBaseDecimal(value, source), target);
+    }
+
+    public static double sumDecimal(double a, IMeasurable unitA, double b, IMeasurable unitB, boolean subtract, IMeasurable target) {
+        BigDecimal baseA = toBaseDecimal(a, unitA);
+        BigDecimal baseB = toBaseDecimal(b, unitB);
+        return fromBaseDecimal(subtract ? baseA.subtract(baseB) : baseA.add(baseB), target);
+    }
+
+    public static int compareDecimal(double a, IMeasurable unitA, double b, IMeasurable unitB) {
+        return toBaseDecimal(a, unitA).compareTo(toBaseDecimal(b, unitB));
+    }
+
+    public static double ratioDecimal(double a, IMeasurable unitA, double b, IMeasurable unitB) {
+        return toBaseDecimal(a, unitA).divide(toBaseDecimal(b, unitB), MathContext.DECIMAL64).doubleValue();
+    }
+
+    private static long toBase(double value, IMeasurable unit) {
+        double scaled = value * VALUE_MULTIPLIER;
+        // also rejects NaN and infinities, which then fail in BigDecimal with a clear message
+        if (!(Math.abs(scaled) < MAX_EXACT_DOUBLE)) throw new ArithmeticException("Value out of long range");
+        return Math.multiplyExact((long) Math.rint(scaled), mantissa(unit));
+    }
+
+    // base has VALUE_DECIMALS + decimals places and the mantissa has decimals, so the quotient has VALUE_DECIMALS
+    private static double fromBase(long base, IMeasurable unit) {
+        long mantissa = mantissa(unit);
+        long quotient = base / mantissa;
+        long remainder = base % mantissa;
+
+        long twice = Math.abs(remainder) * 2;
+        if (twice > mantissa || (twice == mantissa && (quotient & 1) != 0)) {
+            quotient += Long.signum(base);
+        }
+        return quotient / VALUE_MULTIPLIER;
+    }
+
+    private static BigDecimal toBaseDecimal(double value, IMeasurable unit) {
+        BigDecimal scaled = BigDecimal.valueOf(value).setScale(VALUE_DECIMALS, RoundingMode.HALF_EVEN);
+        return scaled.multiply(factor(unit));
+    }
+
+    private static double fromBaseDecimal(BigDecimal base, IMeasurable unit) {
+        return base.divide(factor(unit), VALUE_DECIMALS, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    private static BigDecimal factor(IMeasurable unit) {
+        Scale scale = scale(unit);
+        return BigDecimal.valueOf(scale.mantissas()[((Enum<?>) unit).ordinal()], scale.decimals());
+    }
+
+    private static long mantissa(IMeasurable unit) {
+        return scale(unit).mantissas()[((Enum<?>) unit).ordinal()];
+    }
+
+    private static Scale scale(IMeasurable unit) {
+        return SCALES.get(((Enum<?>) unit).getDeclaringClass());
+    }
+}
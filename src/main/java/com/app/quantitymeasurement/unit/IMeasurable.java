@@ -13,9 +13,23 @@ public interface IMeasurable {
 
     double getConversionFactor();
 
-    double convertToBaseUnit(double value);
+    // Affine form of the unit relative to its base unit: base = value * getScale() + getOffset()
+    default double getScale() {
+        return getConversionFactor();
+    }
 
-    double convertFromBaseUnit(double baseValue);
+    default double getOffset() {
+        return 0.0;
+    }
+
+    // Every unit converts through the same primitive affine path, rounded to two decimals
+    default double convertToBaseUnit(double value) {
+        return roundOffTillTwoDecimal(value * getScale() + getOffset());
+    }
+
+    default double convertFromBaseUnit(double baseValue) {
+        return roundOffTillTwoDecimal((baseValue - getOffset()) / getScale());
+    }
 
     default boolean supportsArithmetic() {
         return supportsArithmetic.isSupported();
@@ -28,14 +42,14 @@ public interface IMeasurable {
         return this.getClass().getSimpleName();
     }
 
+    private static double roundOffTillTwoDecimal(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
     static IMeasurable getUnitInstance(String unitName, Class<?> enumClass) {
-        for (Object constant : enumClass.getEnumConstants()) {
-            IMeasurable unit = (IMeasurable) constant;
-
-            if (unit.getUnitName().equalsIgnoreCase(unitName)) {
-                return unit;
-            }
-        }
-        throw new IllegalArgumentException("Invalid unit: " + unitName);
+        IMeasurable unit = UnitRegistry.find(enumClass.getSimpleName(), unitName);
+        if (unit == null) throw new IllegalArgumentException("Invalid unit: " + unitName);
+
+        return unit;
     }
 }
@@ -1,27 +1,18 @@
-
 package com.app.quantitymeasurement.unit;
 
-import java.util.function.Function;
-
 public enum TemperatureUnit implements IMeasurable {
-    CELSIUS(false),
-    FAHRENHEIT(true);
-
-    private final boolean isFahrenheit;
-
-    final Function<Double, Double> FAHRENHEIT_TO_CELSIUS = (fahrenheit) -> (fahrenheit - 32) * 5 / 9;
+    CELSIUS(1.0, 0.0),
+    FAHRENHEIT(5.0 / 9.0, -32.0 * 5.0 / 9.0);
 
-    final Function<Double, Double> CELSIUS_TO_CELSIUS = (celsius) -> celsius;
-
-    Function<Double, Double> conversionValue;
+    // base unit is CELSIUS: celsius = value * scale + offset
+    private final double scale;
+    private final double offset;
 
     SupportsArithmetic supportsArithmetic = () -> false;
 
-    TemperatureUnit(boolean isFahrenheit) {
-        this.isFahrenheit = isFahrenheit;
-
-        if (isFahrenheit) conversionValue = FAHRENHEIT_TO_CELSIUS;
-        else conversionValue = CELSIUS_TO_CELSIUS;
+    TemperatureUnit(double scale, double offset) {
+        this.scale = scale;
+        this.offset = offset;
     }
 
     @Override
@@ -31,19 +22,17 @@ public enum TemperatureUnit implements IMeasurable {
 
     @Override
     public double getConversionFactor() {
-        return 1.0;
+        return scale;
     }
 
     @Override
-    public double convertToBaseUnit(double value) {
-        return conversionValue.apply(value);
+    public double getScale() {
+        return scale;
     }
 
     @Override
-    public double convertFromBaseUnit(double baseValue) {
-        if (isFahrenheit) return (baseValue * 9 / 5) + 32;
-
-        return baseValue;
+    public double getOffset() {
+        return offset;
     }
 
     @Override
@@ -0,0 +1,235 @@
+package com.app.quantitymeasurement.unit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lookup of every supported unit, built once when the class is loaded.
+ * Replaces the reflective Class.forName + getEnumConstants scan on the request path
+ * and holds a dense from -> to affine conversion table for each measurement type.
+ */
+public final class UnitRegistry {
+
+    // coherentScale is the type's base unit in the product of the base units of its dimension
+    // (INCHES, GRAM, CELSIUS), e.g. 1 LITRE = 61.0237441 cubic INCHES
+    private record UnitType(Class<? extends IMeasurable> type, int dimension, double coherentScale) {
+    }
+
+    private static final List<UnitType> UNIT_TYPES = List.of(
+            new UnitType(LengthUnit.class, Dimension.LENGTH, 1.0),
+            new UnitType(AreaUnit.class, Dimension.AREA, 1.0),
+            new UnitType(WeightUnit.class, Dimension.MASS, 1.0),
+            new UnitType(VolumeUnit.class, Dimension.VOLUME, 61.0237441),
+            new UnitType(TemperatureUnit.class, Dimension.TEMPERATURE, 1.0)
+    );
+
+    // base unit of each base dimension, indexed like Dimension's exponents
+    private static final IMeasurable[] BASE_UNITS = new IMeasurable[Dimension.BASE_COUNT];
+
+    // measurementType -> (UNIT NAME -> unit)
+    private static final Map<String, Map<String, IMeasurable>> UNITS;
+
+    // measurementType names and unit names in declaration order, for API documentation
+    private static final Set<String> MEASUREMENT_TYPES;
+    private static final List<String> UNIT_NAMES;
+
+    // UNIT NAME -> unit across all types, for input that names a unit without its type
+    private static final Map<String, IMeasurable> UNITS_BY_NAME;
+
+    // unit enum -> from -> to coefficients, indexed by from.ordinal() * size + to.ordinal()
+    private static final Map<Class<?>, ConversionTable> TABLES;
+
+    private static final Map<Class<?>, UnitType> TYPES;
+    private static final Map<Integer, UnitType> TYPES_BY_DIMENSION;
+
+    private record ConversionTable(int size, double[] scales, double[] offsets) {
+    }
+
+    static {
+        Map<String, Map<String, IMeasurable>> units = new HashMap<>();
+        Map<String, IMeasurable> unitsByName = new HashMap<>();
+        Map<Class<?>, ConversionTable> tables = new HashMap<>();
+        Map<Class<?>, UnitType> types = new HashMap<>();
+        Map<Integer, UnitType> typesByDimension = new HashMap<>();
+        Set<String> measurementTypes = new LinkedHashSet<>();
+        List<String> unitNames = new ArrayList<>();
+
+        for (UnitType unitType : UNIT_TYPES) {
+            Class<? extends IMeasurable> type = unitType.type();
+            IMeasurable[] constants = type.getEnumConstants();
+            types.put(type, unitType);
+            if (typesByDimension.put(unitType.dimension(), unitType) != null) {
+                throw new IllegalStateException("More than one unit type for the dimension of " + type.getSimpleName());
+            }
+
+            Map<String, IMeasurable> byName = new HashMap<>();
+            for (IMeasurable unit : constants) {
+                byName.put(unit.getUnitName().toUpperCase(Locale.ROOT), unit);
+            }
+            units.put(type.getSimpleName(), Map.copyOf(byName));
+            measurementTypes.add(type.getSimpleName());
+            for (IMeasurable unit : constants) {
+                unitNames.add(unit.getUnitName());
+            }
+            for (Map.Entry<String, IMeasurable> unit : byName.entrySet()) {
+                if (unitsByName.put(unit.getKey(), unit.getValue()) != null) {
+                    throw new IllegalStateException("Unit name " + unit.getKey() + " is used by more than one type");
+                }
+            }
+
+            // to = (from * fromScale + fromOffset - toOffset) / toScale
+            int size = constants.length;
+            double[] scales = new double[size * size];
+            double[] offsets = new double[size * size];
+            for (IMeasurable from : constants) {
+                for (IMeasurable to : constants) {
+                    int index = ordinal(from) * size + ordinal(to);
+                    scales[index] = from.getScale() / to.getScale();
+                    offsets[index] = (from.getOffset() - to.getOffset()) / to.getScale();
+                }
+            }
+            tables.put(type, new ConversionTable(size, scales, offsets));
+        }
+
+        UNITS = Map.copyOf(units);
+        UNITS_BY_NAME = Map.copyOf(unitsByName);
+        MEASUREMENT_TYPES = Collections.unmodifiableSet(measurementTypes);
+        UNIT_NAMES = List.copyOf(unitNames);
+        TYPES = Map.copyOf(types);
+        TYPES_BY_DIMENSION = Map.copyOf(typesByDimension);
+
+        BASE_UNITS[Dimension.LENGTH_INDEX] = LengthUnit.INCHES;
+        BASE_UNITS[Dimension.MASS_INDEX] = WeightUnit.GRAM;
+        BASE_UNITS[Dimension.TEMPERATURE_INDEX] = TemperatureUnit.CELSIUS;
+        TABLES = Map.copyOf(tables);
+    }
+
+    private UnitRegistry() {
+    }
+
+    /**
+     * Resolves a unit by measurement type (e.g. "LengthUnit") and case-insensitive unit name.
+     * Returns null instead of throwing when either part is unknown.
+     */
+    public static IMeasurable find(String measurementType, String unitName) {
+        if (measurementType == null || unitName == null) return null;
+
+        Map<String, IMeasurable> byName = UNITS.get(measurementType);
+        if (byName == null) return null;
+
+        IMeasurable unit = byName.get(unitName);
+        if (unit != null) return unit;
+
+        return byName.get(unitName.toUpperCase(Locale.ROOT));
+    }
+
+    // Resolves a unit by its case-insensitive name alone; names are unique across types
+    public static IMeasurable findByName(String unitName) {
+        if (unitName == null) return null;
+
+        IMeasurable unit = UNITS_BY_NAME.get(unitName);
+        if (unit != null) return unit;
+
+        return UNITS_BY_NAME.get(unitName.toUpperCase(Locale.ROOT));
+    }
+
+    public static boolean isSupportedType(String measurementType) {
+        return measurementType != null && UNITS.containsKey(measurementType);
+    }
+
+    public static boolean isSameType(IMeasurable a, IMeasurable b) {
+        return ((Enum<?>) a).getDeclaringClass() == ((Enum<?>) b).getDeclaringClass();
+    }
+
+    public static Set<String> measurementTypes() {
+        return MEASUREMENT_TYPES;
+    }
+
+    // Every supported unit name, grouped by measurement type
+    public static List<String> unitNames() {
+        return UNIT_NAMES;
+    }
+
+    public static int dimension(IMeasurable unit) {
+        return type(unit).dimension();
+    }
+
+    // Factor from this unit to the coherent product of base units: coherent = value * coherentScale(unit)
+    public static double coherentScale(IMeasurable unit) {
+        return unit.getScale() * type(unit).coherentScale();
+    }
+
+    /**
+     * Unit of the type with the given dimension that a coherent value with this scale reads in
+     * naturally (FEET x FEET gives SQUARE_FEET), else that type's base unit. Null when no
+     * unit type has the dimension.
+     */
+    public static IMeasurable unitFor(int dimension, double coherentScale) {
+        UnitType type = TYPES_BY_DIMENSION.get(dimension);
+        if (type == null) return null;
+
+        IMeasurable base = null;
+        for (IMeasurable unit : type.type().getEnumConstants()) {
+            double scale = unit.getScale() * type.coherentScale();
+            if (scale == coherentScale) return unit;
+            if (unit.getScale() == 1.0) base = unit;
+        }
+        return base;
+    }
+
+    // Name of the coherent unit of any dimension, e.g. "GRAM*INCHES^-3"
+    public static String coherentUnitName(int dimension) {
+        StringBuilder name = new StringBuilder();
+        for (int base = Dimension.BASE_COUNT - 1; base >= 0; base--) {
+            int exponent = Dimension.exponent(dimension, base);
+            if (exponent == 0) continue;
+            if (!name.isEmpty()) name.append('*');
+            name.append(BASE_UNITS[base].getUnitName());
+            if (exponent != 1) name.append('^').append(exponent);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Converts a value between two units of the same measurement type with a single
+     * multiply-add from the precomputed table. The result is rounded to two decimals once.
+     */
+    public static double convert(double value, IMeasurable source, IMeasurable target) {
+        ConversionTable table = table(source);
+        int index = ordinal(source) * table.size() + ordinal(target);
+        return roundOffTillTwoDecimal(value * table.scales()[index] + table.offsets()[index]);
+    }
+
+    // Coefficients of the source -> target conversion: target = value * scale + offset
+    public static double scale(IMeasurable source, IMeasurable target) {
+        ConversionTable table = table(source);
+        return table.scales()[ordinal(source) * table.size() + ordinal(target)];
+    }
+
+    public static double offset(IMeasurable source, IMeasurable target) {
+        ConversionTable table = table(source);
+        return table.offsets()[ordinal(source) * table.size() + ordinal(target)];
+    }
+
+    private static UnitType type(IMeasurable unit) {
+        return TYPES.get(((Enum<?>) unit).getDeclaringClass());
+    }
+
+    private static ConversionTable table(IMeasurable unit) {
+        return TABLES.get(((Enum<?>) unit).getDeclaringClass());
+    }
+
+    private static int ordinal(IMeasurable unit) {
+        return ((Enum<?>) unit).ordinal();
+    }
+
+    private static double roundOffTillTwoDecimal(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
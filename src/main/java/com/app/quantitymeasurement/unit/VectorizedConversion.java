@@ -0,0 +1,44 @@
+package com.app.quantitymeasurement.unit;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of the bulk affine conversion. Only loaded by {@link BulkConversion}
+ * when the jdk.incubator.vector module is present (--add-modules jdk.incubator.vector).
+ */
+final class VectorizedConversion {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorizedConversion() {
+    }
+
+    // result[i] = Math.round((values[i] * scale + offset) * 100) / 100, lane by lane
+    static void convert(double[] values, double[] result, double scale, double offset) {
+        int upperBound = SPECIES.loopBound(values.length);
+        int i = 0;
+
+        for (; i < upperBound; i += SPECIES.length()) {
+            // mul then add, not fma: two roundings like the scalar path, so results match it bit for bit
+            DoubleVector hundredths = DoubleVector.fromArray(SPECIES, values, i)
+                    .mul(scale)
+                    .add(offset)
+                    .mul(100.0)
+                    .add(0.5);
+
+            // floor() through a saturating long conversion, corrected for negative fractions;
+            // saturation and NaN -> 0 match Math.round exactly
+            DoubleVector truncated = (DoubleVector) hundredths
+                    .convert(VectorOperators.D2L, 0)
+                    .convert(VectorOperators.L2D, 0);
+            VectorMask<Double> roundedUp = truncated.compare(VectorOperators.GT, hundredths);
+            truncated.sub(1.0, roundedUp)
+                    .div(100.0)
+                    .intoArray(result, i);
+        }
+
+        BulkConversion.convertScalar(values, result, i, scale, offset);
+    }
+}
@@ -17,22 +17,6 @@ public enum VolumeUnit implements IMeasurable {
         return conversionFactor;
     }
 
-    @Override
-    public double convertToBaseUnit(double value) {
-        double result = value * conversionFactor;
-        return roundOffTillTwoDecimal(result);
-    }
-
-    @Override
-    public double convertFromBaseUnit(double baseValue) {
-        double result = baseValue / conversionFactor;
-        return roundOffTillTwoDecimal(result);
-    }
-
-    private double roundOffTillTwoDecimal(double value) {
-        return Math.round(value * 100.0) / 100.0;
-    }
-
     @Override
     public String getUnitName() {
         return this.name();
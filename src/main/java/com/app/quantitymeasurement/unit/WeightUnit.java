@@ -19,22 +19,6 @@ public enum WeightUnit implements IMeasurable {
         return conversionFactor;
     }
 
-    @Override
-    public double convertToBaseUnit(double value) {
-        double result = value * this.conversionFactor;
-        return roundOffTillTwoDecimal(result);
-    }
-
-    @Override
-    public double convertFromBaseUnit(double baseValue) {
-        double result = baseValue / this.conversionFactor;
-        return roundOffTillTwoDecimal(result);
-    }
-
-    private double roundOffTillTwoDecimal(double value) {
-        return Math.round(value * 100.0) / 100.0;
-    }
-
     @Override
     public String getUnitName() {
         return this.name();
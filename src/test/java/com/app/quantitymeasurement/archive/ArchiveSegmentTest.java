@@ -0,0 +1,116 @@
+package com.app.quantitymeasurement.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.app.quantitymeasurement.dto.HistoryCursor;
+import com.app.quantitymeasurement.dto.OperationCountView;
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
+
+public class ArchiveSegmentTest {
+    private static final int ROWS = 3_000;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 12, 0, 0, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    // Spans three blocks; every 7th row is an error, and pairs of rows share a timestamp
+    private static List<QuantityMeasurementView> rows() {
+        List<QuantityMeasurementView> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime createdAt = START.plusNanos((i / 2) * 1_500_000L);
+            if (i % 7 == 0) {
+                rows.add(new QuantityMeasurementView((long) i + 1, createdAt,
+                        i, "FEET", "LengthUnit", 1, "GRAM", "WeightUnit",
+                        "ADD", null, 0.0, null, null, "Incompatible types", true));
+            } else if (i % 2 == 0) {
+                rows.add(new QuantityMeasurementView((long) i + 1, createdAt,
+                        i * 0.1, "LITRE", "VolumeUnit", 0, "GALLON", "VolumeUnit",
+                        "CONVERT", null, i * 0.0264172, "GALLON", "VolumeUnit", null, false));
+            } else {
+                rows.add(new QuantityMeasurementView((long) i + 1, createdAt,
+                        -i, "CELSIUS", "TemperatureUnit", 12.5, "CELSIUS", "TemperatureUnit",
+                        "COMPARE", "false", 0.0, null, null, null, false));
+            }
+        }
+        return rows;
+    }
+
+    private ArchiveSegment write(List<QuantityMeasurementView> rows) throws IOException {
+        Path file = directory.resolve("segment.qma");
+        ArchiveSegmentWriter.write(file, rows);
+        return ArchiveSegment.open(file);
+    }
+
+    @Test
+    void testScan_RoundTripsEveryColumnNewestFirst() throws IOException {
+        List<QuantityMeasurementView> rows = rows();
+        ArchiveSegment segment = write(rows);
+
+        List<QuantityMeasurementView> expected = new ArrayList<>(rows);
+        expected.sort(ArchiveSegment.NEWEST_FIRST);
+        List<QuantityMeasurementView> errors = expected.stream().filter(QuantityMeasurementView::isError).toList();
+
+        List<QuantityMeasurementView> scanned = new ArrayList<>();
+        segment.scan(ArchiveSegment.Match.ERROR, null, null, ROWS, scanned);
+        assertThat(scanned).containsExactlyElementsOf(errors);
+
+        scanned.clear();
+        segment.scan(ArchiveSegment.Match.MEASUREMENT_TYPE, "VolumeUnit", null, ROWS, scanned);
+        assertThat(scanned).containsExactlyElementsOf(
+                expected.stream().filter(row -> row.thisMeasurementType().equals("VolumeUnit")).toList());
+
+        assertThat(segment.newest()).isEqualTo(new HistoryCursor(expected.get(0).createdAt(), expected.get(0).id()));
+        assertThat(segment.oldest()).isEqualTo(new HistoryCursor(START, 1));
+
+        // one byte per string column, a few for id and created_at, the rest for the three values
+        assertThat(Files.size(segment.file())).isLessThan(ROWS * 32L);
+    }
+
+    @Test
+    void testScan_PagesFromCursorAcrossBlocks() throws IOException {
+        List<QuantityMeasurementView> rows = rows();
+        ArchiveSegment segment = write(rows);
+        List<QuantityMeasurementView> expected = rows.stream()
+                .filter(row -> row.operation().equals("COMPARE"))
+                .sorted(ArchiveSegment.NEWEST_FIRST)
+                .toList();
+
+        List<QuantityMeasurementView> paged = new ArrayList<>();
+        HistoryCursor after = null;
+        while (true) {
+            List<QuantityMeasurementView> page = new ArrayList<>();
+            segment.scan(ArchiveSegment.Match.OPERATION, "COMPARE", after, 100, page);
+            if (page.isEmpty()) break;
+            paged.addAll(page);
+            QuantityMeasurementView last = page.get(page.size() - 1);
+            after = new HistoryCursor(last.createdAt(), last.id());
+        }
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+
+        List<QuantityMeasurementView> missing = new ArrayList<>();
+        segment.scan(ArchiveSegment.Match.OPERATION, "DIVIDE", null, 100, missing);
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    void testCounts_GroupByOperationAndError() throws IOException {
+        ArchiveSegment segment = write(rows());
+
+        assertThat(segment.rowCount()).isEqualTo(ROWS);
+        assertThat(segment.counts()).containsExactlyInAnyOrder(
+                new OperationCountView("ADD", true, 429),
+                new OperationCountView("CONVERT", false, 1285),
+                new OperationCountView("COMPARE", false, 1286));
+    }
+}
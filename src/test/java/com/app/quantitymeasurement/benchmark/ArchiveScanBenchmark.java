@@ -0,0 +1,97 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.quantitymeasurement.archive.ArchiveSegment;
+import com.app.quantitymeasurement.archive.ArchiveSegmentWriter;
+import com.app.quantitymeasurement.dto.HistoryCursor;
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
+
+/**
+ * One 50-row history page from a 100k-row archive segment: the newest page, a page from a
+ * cursor half way down, and errors, which are 1 row in 100. The segment size per row is
+ * printed at setup.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=ArchiveScanBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArchiveScanBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int PAGE = 50;
+
+    private Path file;
+    private ArchiveSegment segment;
+    private HistoryCursor middle;
+
+    @Setup(Level.Trial)
+    public void writeSegment() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<QuantityMeasurementView> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime createdAt = start.plusNanos(i * 7_300_000L);
+            rows.add(i % 100 == 0
+                    ? new QuantityMeasurementView((long) i + 1, createdAt, i, "FEET", "LengthUnit",
+                            1, "GRAM", "WeightUnit", "ADD", null, 0, null, null,
+                            "Different measurement types not allowed", true)
+                    : new QuantityMeasurementView((long) i + 1, createdAt, i, "FEET", "LengthUnit",
+                            0, "INCHES", "LengthUnit", "CONVERT", null, i * 12.0, "INCHES", "LengthUnit", null, false));
+        }
+
+        file = Files.createTempFile("archive-benchmark", ".qma");
+        Files.delete(file);
+        ArchiveSegmentWriter.write(file, rows);
+        segment = ArchiveSegment.open(file);
+        middle = new HistoryCursor(rows.get(ROWS / 2).createdAt(), rows.get(ROWS / 2).id());
+        System.out.printf("%n%d rows, %.1f bytes per row%n", ROWS, (double) Files.size(file) / ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSegment() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<QuantityMeasurementView> newestPage() {
+        List<QuantityMeasurementView> page = new ArrayList<>(PAGE);
+        segment.scan(ArchiveSegment.Match.OPERATION, "CONVERT", null, PAGE, page);
+        return page;
+    }
+
+    @Benchmark
+    public List<QuantityMeasurementView> pageFromCursor() {
+        List<QuantityMeasurementView> page = new ArrayList<>(PAGE);
+        segment.scan(ArchiveSegment.Match.OPERATION, "CONVERT", middle, PAGE, page);
+        return page;
+    }
+
+    @Benchmark
+    public List<QuantityMeasurementView> errorPage() {
+        List<QuantityMeasurementView> page = new ArrayList<>(PAGE);
+        segment.scan(ArchiveSegment.Match.ERROR, null, null, PAGE, page);
+        return page;
+    }
+}
@@ -0,0 +1,89 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.quantitymeasurement.QuantityMeasurementAppApplication;
+import com.app.quantitymeasurement.model.OperationType;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+
+/**
+ * Inserts 100k audit rows through QuantityMeasurementRepository.saveAll on the h2 profile.
+ * batchSize=1 sends one INSERT per row (what IDENTITY ids forced), batchSize=50 is the
+ * configured JDBC batching. Rows/sec = 100000 / score.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=AuditInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AuditInsertBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int CHUNK = 1_000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private QuantityMeasurementRepository repository;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(QuantityMeasurementAppApplication.class)
+                .profiles("h2")
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize)
+                .run();
+        repository = context.getBean(QuantityMeasurementRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTable() {
+        repository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public long insert100kRows() {
+        long inserted = 0;
+        for (int start = 0; start < ROWS; start += CHUNK) {
+            List<QuantityMeasurementEntity> chunk = new ArrayList<>(CHUNK);
+            for (int i = start; i < start + CHUNK; i++) {
+                chunk.add(new QuantityMeasurementEntity(
+                        i, "FEET", "LengthUnit",
+                        12.0, "INCHES", "LengthUnit",
+                        OperationType.CONVERT.name(),
+                        i * 12.0, "INCHES", "LengthUnit"));
+            }
+            inserted += repository.saveAll(chunk).size();
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.app.quantitymeasurement.unit.IMeasurable;
+
+/**
+ * convertToBaseUnit / convertFromBaseUnit / getUnitInstance for every unit of each IMeasurable
+ * implementation. One op walks all units of the type once.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=ConversionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({"LengthUnit", "WeightUnit", "VolumeUnit", "TemperatureUnit"})
+    public String measurementType;
+
+    private Class<?> enumClass;
+    private IMeasurable[] units;
+    private String[] unitNames;
+    private double value = 42.5;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        enumClass = Class.forName("com.app.quantitymeasurement.unit." + measurementType);
+        units = (IMeasurable[]) enumClass.getEnumConstants();
+        unitNames = new String[units.length];
+        for (int i = 0; i < units.length; i++) {
+            unitNames[i] = units[i].getUnitName();
+        }
+    }
+
+    @Benchmark
+    public void convertToBaseUnit(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(unit.convertToBaseUnit(value));
+        }
+    }
+
+    @Benchmark
+    public void convertFromBaseUnit(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(unit.convertFromBaseUnit(value));
+        }
+    }
+
+    @Benchmark
+    public void getUnitInstance(Blackhole blackhole) {
+        for (String unitName : unitNames) {
+            blackhole.consume(IMeasurable.getUnitInstance(unitName, enumClass));
+        }
+    }
+}
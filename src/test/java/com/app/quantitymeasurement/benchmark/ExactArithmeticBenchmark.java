@@ -0,0 +1,113 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.app.quantitymeasurement.unit.FixedPoint;
+import com.app.quantitymeasurement.unit.IMeasurable;
+import com.app.quantitymeasurement.unit.UnitRegistry;
+
+/**
+ * The arithmetic behind add, compare and convert in the three modes: rounded doubles (the default
+ * path), FixedPoint's scaled longs (quantity.arithmetic.mode=exact) and the BigDecimal code that
+ * FixedPoint falls back to on overflow. One op walks every unit of the type once.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=ExactArithmeticBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExactArithmeticBenchmark {
+
+    @Param({"LengthUnit", "WeightUnit", "VolumeUnit"})
+    public String measurementType;
+
+    private IMeasurable[] units;
+    private IMeasurable base;
+    private double a = 42.5;
+    private double b = 0.125;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        units = (IMeasurable[]) Class.forName("com.app.quantitymeasurement.unit." + measurementType).getEnumConstants();
+        base = units[0];
+    }
+
+    @Benchmark
+    public void sumDouble(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(unit.convertFromBaseUnit(unit.convertToBaseUnit(a) + base.convertToBaseUnit(b)));
+        }
+    }
+
+    @Benchmark
+    public void sumFixedPoint(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(FixedPoint.sum(a, unit, b, base, false, unit));
+        }
+    }
+
+    @Benchmark
+    public void sumBigDecimal(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(FixedPoint.sumDecimal(a, unit, b, base, false, unit));
+        }
+    }
+
+    @Benchmark
+    public void compareDouble(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(Double.compare(unit.convertToBaseUnit(a), base.convertToBaseUnit(b)));
+        }
+    }
+
+    @Benchmark
+    public void compareFixedPoint(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(FixedPoint.compare(a, unit, b, base));
+        }
+    }
+
+    @Benchmark
+    public void compareBigDecimal(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(FixedPoint.compareDecimal(a, unit, b, base));
+        }
+    }
+
+    @Benchmark
+    public void convertDouble(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(UnitRegistry.convert(a, unit, base));
+        }
+    }
+
+    @Benchmark
+    public void convertFixedPoint(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(FixedPoint.convert(a, unit, base));
+        }
+    }
+
+    @Benchmark
+    public void convertBigDecimal(Blackhole blackhole) {
+        for (IMeasurable unit : units) {
+            blackhole.consume(FixedPoint.convertDecimal(a, unit, base));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.quantitymeasurement.QuantityMeasurementAppApplication;
+import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.dto.QuantityMeasurementView;
+import com.app.quantitymeasurement.model.OperationType;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+
+/**
+ * Reads 100k CONVERT rows on the h2 profile and maps them to DTOs.
+ * entities: managed QuantityMeasurementEntity rows in a read-write transaction (the old path).
+ * projection: QuantityMeasurementView rows in a read-only transaction (the history endpoints).
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=HistoryReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class HistoryReadBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int CHUNK = 1_000;
+    private static final String OPERATION = OperationType.CONVERT.name();
+
+    private ConfigurableApplicationContext context;
+    private QuantityMeasurementRepository repository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(QuantityMeasurementAppApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(QuantityMeasurementRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        for (int start = 0; start < ROWS; start += CHUNK) {
+            List<QuantityMeasurementEntity> chunk = new ArrayList<>(CHUNK);
+            for (int i = start; i < start + CHUNK; i++) {
+                chunk.add(new QuantityMeasurementEntity(
+                        i, "FEET", "LengthUnit",
+                        12.0, "INCHES", "LengthUnit",
+                        OPERATION,
+                        i * 12.0, "INCHES", "LengthUnit"));
+            }
+            repository.saveAll(chunk);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<QuantityMeasurementDTO> entities() {
+        return readWrite.execute(status ->
+                QuantityMeasurementDTO.fromList(repository.findByOperation(OPERATION)));
+    }
+
+    @Benchmark
+    public List<QuantityMeasurementDTO> projection() {
+        return readOnly.execute(status -> {
+            List<QuantityMeasurementView> rows = repository.findHistoryByOperation(OPERATION, Limit.of(ROWS));
+            List<QuantityMeasurementDTO> items = new ArrayList<>(rows.size());
+            for (QuantityMeasurementView row : rows) {
+                items.add(QuantityMeasurementDTO.from(row));
+            }
+            return items;
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.app.quantitymeasurement.cache.UserDetailsCache;
+import com.app.quantitymeasurement.filters.JWTFilter;
+import com.app.quantitymeasurement.service.JWTService;
+import com.app.quantitymeasurement.service.impl.JWTServiceImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of JWTFilter per authenticated request.
+ * legacy: the previous filter and service, which decoded the key, built a parser and verified the token three times.
+ * uncached: one verification with the prebuilt key/parser.
+ * cached: verified-token cache hit.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private static final String USERNAME = "load@test.com";
+
+    @Param({"legacy", "uncached", "cached"})
+    public String mode;
+
+    private Filter filter;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        UserDetails user = User.withUsername(USERNAME).password("x").authorities(List.of()).build();
+        UserDetailsService users = username -> user;
+
+        JWTService service = switch (mode) {
+            case "legacy" -> new LegacyJWTService();
+            case "uncached" -> new JWTServiceImpl(0, new SimpleMeterRegistry());
+            default -> new JWTServiceImpl(10_000, new SimpleMeterRegistry());
+        };
+        filter = service instanceof LegacyJWTService legacy ? new LegacyJWTFilter(legacy, users) : new JWTFilter(service, new UserDetailsCache(users, 10_000, 60_000, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        header = "Bearer " + service.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/quantities/count/CONVERT");
+        request.addHeader("Authorization", header);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    // The filter as it was before parse-once: extractUserName, then validateToken
+    static class LegacyJWTFilter extends OncePerRequestFilter {
+        private final LegacyJWTService jwtService;
+        private final UserDetailsService userDetailsService;
+
+        LegacyJWTFilter(LegacyJWTService jwtService, UserDetailsService userDetailsService) {
+            this.jwtService = jwtService;
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            String token = request.getHeader("Authorization").substring(7);
+            String username = jwtService.extractUserName(token);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (jwtService.validateToken(token, userDetails)) {
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    // The service as it was before the verified-token cache
+    static class LegacyJWTService implements JWTService {
+        private final String secretKey = "VGhpcy1pcy1hLXN1cGVyLXNlY3VyZS1KV1Qtc2VjcmV0LWtleS0yMDI2LWRldm9wcw==";
+
+        private SecretKey getKey() {
+            return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        }
+
+        @Override
+        public Claims parseVerifiedClaims(String token) {
+            try {
+                return Jwts.parser().verifyWith(getKey()).build().parseSignedClaims(token).getPayload();
+            } catch (Exception e) {
+                throw new AccessDeniedException("Invalid JWT token");
+            }
+        }
+
+        @Override
+        public String generateToken(String username) {
+            return Jwts.builder()
+                    .subject(username)
+                    .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))
+                    .issuedAt(new Date(System.currentTimeMillis()))
+                    .signWith(getKey())
+                    .compact();
+        }
+
+        public boolean validateToken(String token, UserDetails userDetails) {
+            String username = extractUserName(token);
+            if (parseVerifiedClaims(token).getExpiration().before(new Date())) {
+                throw new AccessDeniedException("Token expired!");
+            }
+            return username.equals(userDetails.getUsername());
+        }
+
+        @Override
+        public String extractUserName(String token) {
+            return parseVerifiedClaims(token).getSubject();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.bridge.SLF4JBridgeHandler;
+
+import com.app.quantitymeasurement.dto.QuantityDTO;
+import com.app.quantitymeasurement.logging.SamplingTurboFilter;
+import com.app.quantitymeasurement.service.impl.QuantityMeasurementServiceImpl;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Logging cost on the compare/validate hot path. "legacy" reproduces the previous call sites:
+ * java.util.logging with string concatenation in the former QuantityDTO.isValidUnit (bridged into
+ * logback, as Spring Boot does), logged twice per request, and two concatenated INFO lines per
+ * compare. Unit validation no longer logs; the compare call sites are parameterized DEBUG lines
+ * that only produce output while the request trace flag is set.
+ *
+ * Logback is configured like logback-spring.xml (root INFO, SamplingTurboFilter), with the
+ * console replaced by a discarding stream, either directly (sync) or behind an AsyncAppender.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=LoggingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+    private static final java.util.logging.Logger JUL = java.util.logging.Logger.getLogger(QuantityDTO.class.getName());
+    private static final Logger LOG = LoggerFactory.getLogger(QuantityMeasurementServiceImpl.class);
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    private final QuantityDTO quantity = new QuantityDTO(1.0, "FEET", "LengthUnit");
+    private double base1 = 1.0;
+    private double base2 = 1.0;
+
+    private LoggerContext context;
+
+    @Setup(Level.Trial)
+    public void configureLogging() {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setName("CONSOLE");
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        Appender<ILoggingEvent> root = sink;
+        if (appender.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.addAppender(sink);
+            async.start();
+            root = async;
+        }
+
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        ch.qos.logback.classic.Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        rootLogger.addAppender(root);
+
+        SLF4JBridgeHandler.removeHandlersForRootLogger();
+        SLF4JBridgeHandler.install();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopLogging() {
+        SLF4JBridgeHandler.uninstall();
+        context.stop();
+    }
+
+    @Benchmark
+    public void legacyValidationLog() {
+        JUL.info("Validating unit: " + quantity.unit + " for measurement type: " + quantity.measurementType);
+    }
+
+    @Benchmark
+    public void legacyCompareLogs() {
+        LOG.info("validating compare request");
+        LOG.info(base1 + " " + base2);
+    }
+
+    @Benchmark
+    public void compareLogs() {
+        if (LOG.isDebugEnabled()) LOG.debug("Comparing {} and {} in base units", base1, base2);
+    }
+
+    // Cost while a request carries the trace flag and its DEBUG detail is written
+    @Benchmark
+    public void tracedCompareLogs() {
+        MDC.put("trace", "true");
+        try {
+            if (LOG.isDebugEnabled()) LOG.debug("Comparing {} and {} in base units", base1, base2);
+        } finally {
+            MDC.remove("trace");
+        }
+    }
+}
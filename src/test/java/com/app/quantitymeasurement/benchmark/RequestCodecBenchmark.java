@@ -0,0 +1,99 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.quantitymeasurement.dto.QuantityInputDTO;
+import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import tools.jackson.databind.exc.MismatchedInputException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The Jackson 3 codec Spring MVC uses for the quantity endpoints: QuantityInputDTO deserialization,
+ * which resolves and checks units (QuantityDTODeserializer), the bean validation @Valid still runs
+ * on top of it, and QuantityMeasurementDTO serialization.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=RequestCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestCodecBenchmark {
+    private static final String INPUT = """
+            {
+                "thisQuantityDTO": { "value": 1.0, "unit": "FEET", "measurementType": "LengthUnit" },
+                "thatQuantityDTO": { "value": 12.0, "unit": "INCHES", "measurementType": "LengthUnit" },
+                "targetQuantityDTO": { "value": 0.0, "unit": "INCHES", "measurementType": "LengthUnit" }
+            }
+            """;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private final Validator validator = Validation.byDefaultProvider().configure()
+            .messageInterpolator(new ParameterMessageInterpolator())
+            .buildValidatorFactory()
+            .getValidator();
+
+    private QuantityMeasurementDTO result;
+    private byte[] inputBytes;
+    private byte[] invalidInputBytes;
+
+    @Setup
+    public void setup() {
+        inputBytes = INPUT.getBytes();
+        invalidInputBytes = INPUT.replace("\"FEET\"", "\"GRAM\"").getBytes();
+        result = new QuantityMeasurementDTO();
+        result.thisValue = 1.0;
+        result.thisUnit = "FEET";
+        result.thisMeasurementType = "LengthUnit";
+        result.thatValue = 12.0;
+        result.thatUnit = "INCHES";
+        result.thatMeasurementType = "LengthUnit";
+        result.operation = "ADD";
+        result.resultValue = 2.0;
+        result.resultUnit = "FEET";
+        result.resultMeasurementType = "LengthUnit";
+    }
+
+    @Benchmark
+    public Object deserializeAndValidate() {
+        return validator.validate(mapper.readValue(inputBytes, QuantityInputDTO.class));
+    }
+
+    @Benchmark
+    public Object deserializeRejected() {
+        try {
+            return mapper.readValue(invalidInputBytes, QuantityInputDTO.class);
+        } catch (MismatchedInputException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public QuantityInputDTO deserializeInput() {
+        return mapper.readValue(inputBytes, QuantityInputDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializeResult() {
+        return mapper.writeValueAsBytes(result);
+    }
+}
@@ -0,0 +1,132 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.quantitymeasurement.cache.ExpressionPlanCache;
+import com.app.quantitymeasurement.config.ArithmeticProperties;
+import com.app.quantitymeasurement.config.StreamProperties;
+import com.app.quantitymeasurement.dto.QuantityDTO;
+import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.service.AuditService;
+import com.app.quantitymeasurement.service.IQuantityMeasurementService;
+import com.app.quantitymeasurement.service.impl.QuantityMeasurementServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * QuantityMeasurementServiceImpl operations end to end (unit resolution, arithmetic, entity and
+ * DTO mapping) with a no-op audit stub in place of the repository.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=ServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final AuditService DISCARD = new AuditService() {
+        @Override
+        public void record(QuantityMeasurementEntity entity) {
+        }
+
+        @Override
+        public void recordAll(List<QuantityMeasurementEntity> entities) {
+        }
+    };
+
+    private final IQuantityMeasurementService service = service(100);
+
+    // A zero-size plan cache compiles every expression, to show what the cache saves
+    private final IQuantityMeasurementService uncachedService = service(0);
+
+    private static IQuantityMeasurementService service(int planCacheSize) {
+        return new QuantityMeasurementServiceImpl(null, DISCARD, null, null, new StreamProperties(),
+                JsonMapper.builder().build(), new ExpressionPlanCache(planCacheSize, new SimpleMeterRegistry()),
+                new ArithmeticProperties(), new SimpleMeterRegistry());
+    }
+
+    private final QuantityDTO feet = new QuantityDTO(1.0, "FEET", "LengthUnit");
+    private final QuantityDTO inches = new QuantityDTO(12.0, "INCHES", "LengthUnit");
+    private final QuantityDTO celsius = new QuantityDTO(100.0, "CELSIUS", "TemperatureUnit");
+    private final QuantityDTO fahrenheit = new QuantityDTO(0.0, "FAHRENHEIT", "TemperatureUnit");
+    private final QuantityDTO gram = new QuantityDTO(1.0, "GRAM", "WeightUnit");
+    private final QuantityDTO centimeters = new QuantityDTO(5.0, "CENTIMETERS", "LengthUnit");
+
+    private static final String EXPRESSION = "3 FEET + 2 INCHES - 5 CENTIMETERS in INCHES";
+
+    @Benchmark
+    public QuantityMeasurementDTO compare() {
+        return service.compare(feet, inches);
+    }
+
+    @Benchmark
+    public QuantityMeasurementDTO convert() {
+        return service.convert(celsius, fahrenheit);
+    }
+
+    @Benchmark
+    public QuantityMeasurementDTO add() {
+        return service.add(feet, inches);
+    }
+
+    @Benchmark
+    public QuantityMeasurementDTO addWithTarget() {
+        return service.add(feet, inches, inches);
+    }
+
+    @Benchmark
+    public QuantityMeasurementDTO subtract() {
+        return service.subtract(feet, inches);
+    }
+
+    @Benchmark
+    public QuantityMeasurementDTO divide() {
+        return service.divide(feet, inches);
+    }
+
+    // Length x Length: dimension arithmetic on packed ints, result in SQUARE_INCHES
+    @Benchmark
+    public QuantityMeasurementDTO multiply() {
+        return service.multiply(feet, inches);
+    }
+
+    // The same 3-term calculation as two chained calls, i.e. what a client did before /expression
+    @Benchmark
+    public QuantityMeasurementDTO addThenSubtract() {
+        QuantityMeasurementDTO sum = service.add(feet, inches, inches);
+        return service.subtract(new QuantityDTO(sum.resultValue, "INCHES", "LengthUnit"), centimeters, inches);
+    }
+
+    @Benchmark
+    public QuantityMeasurementDTO expression() {
+        return service.evaluateExpression(EXPRESSION);
+    }
+
+    @Benchmark
+    public QuantityMeasurementDTO expressionUncached() {
+        return uncachedService.evaluateExpression(EXPRESSION);
+    }
+
+    // Error path: mismatched measurement types build an error entity
+    @Benchmark
+    public QuantityMeasurementDTO addMismatchedTypes() {
+        return service.add(feet, gram);
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.quantitymeasurement.unit.IMeasurable;
+import com.app.quantitymeasurement.unit.UnitRegistry;
+
+/**
+ * Per-call cost of resolving a unit and converting a value, reflective lookup
+ * and base-unit round trip (before) versus the registry and factor table (after).
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=UnitLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitLookupBenchmark {
+
+    @Param({"LengthUnit:FEET:INCHES", "WeightUnit:KILOGRAM:POUND", "VolumeUnit:gallon:litre"})
+    public String conversion;
+
+    private String measurementType;
+    private String sourceName;
+    private String targetName;
+    private double value = 3.5;
+
+    @Setup
+    public void setup() {
+        String[] parts = conversion.split(":");
+        measurementType = parts[0];
+        sourceName = parts[1];
+        targetName = parts[2];
+    }
+
+    // The lookup QuantityMeasurementServiceImpl.getUnit used before the registry existed
+    private static IMeasurable reflectiveLookup(String measurementType, String unitName) throws ClassNotFoundException {
+        Class<?> enumClass = Class.forName("com.app.quantitymeasurement.unit." + measurementType);
+        for (Object constant : enumClass.getEnumConstants()) {
+            IMeasurable unit = (IMeasurable) constant;
+            if (unit.getUnitName().equalsIgnoreCase(unitName)) return unit;
+        }
+        throw new IllegalArgumentException("Invalid unit: " + unitName);
+    }
+
+    @Benchmark
+    public IMeasurable lookupReflective() throws ClassNotFoundException {
+        return reflectiveLookup(measurementType, sourceName);
+    }
+
+    @Benchmark
+    public IMeasurable lookupRegistry() {
+        return UnitRegistry.find(measurementType, sourceName);
+    }
+
+    @Benchmark
+    public double convertReflectiveRoundTrip() throws ClassNotFoundException {
+        IMeasurable source = reflectiveLookup(measurementType, sourceName);
+        IMeasurable target = reflectiveLookup(measurementType, targetName);
+        return target.convertFromBaseUnit(source.convertToBaseUnit(value));
+    }
+
+    @Benchmark
+    public double convertRegistryTable() {
+        IMeasurable source = UnitRegistry.find(measurementType, sourceName);
+        IMeasurable target = UnitRegistry.find(measurementType, targetName);
+        return UnitRegistry.convert(value, source, target);
+    }
+}
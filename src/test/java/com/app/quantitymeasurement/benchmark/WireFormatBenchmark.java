@@ -0,0 +1,88 @@
+package com.app.quantitymeasurement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.quantitymeasurement.dto.QuantityDTO;
+import com.app.quantitymeasurement.dto.QuantityInputDTO;
+import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.unit.LengthUnit;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Request decoding and response encoding for each negotiable wire format of the quantity
+ * endpoints: application/json, application/cbor and application/x-jackson-smile.
+ * Encoded sizes are printed during setup.
+ *
+ * mvn -Pbenchmark test -Dbenchmark.include=WireFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private byte[] inputBytes;
+    private QuantityMeasurementDTO result;
+
+    @Setup
+    public void setup() {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+
+        QuantityInputDTO input = new QuantityInputDTO();
+        input.setThisQuantityDTO(new QuantityDTO(1.0, LengthUnit.FEET));
+        input.setThatQuantityDTO(new QuantityDTO(12.0, LengthUnit.INCHES));
+        input.setTargetQuantityDTO(new QuantityDTO(0.0, LengthUnit.INCHES));
+        inputBytes = mapper.writeValueAsBytes(input);
+
+        result = new QuantityMeasurementDTO();
+        result.thisValue = 1.0;
+        result.thisUnit = "FEET";
+        result.thisMeasurementType = "LengthUnit";
+        result.thatValue = 12.0;
+        result.thatUnit = "INCHES";
+        result.thatMeasurementType = "LengthUnit";
+        result.operation = "ADD";
+        result.resultValue = 2.0;
+        result.resultUnit = "FEET";
+        result.resultMeasurementType = "LengthUnit";
+
+        System.out.printf("%n%s: request %d bytes, response %d bytes%n",
+                format, inputBytes.length, mapper.writeValueAsBytes(result).length);
+    }
+
+    @Benchmark
+    public QuantityInputDTO decodeInput() {
+        return mapper.readValue(inputBytes, QuantityInputDTO.class);
+    }
+
+    @Benchmark
+    public byte[] encodeResult() {
+        return mapper.writeValueAsBytes(result);
+    }
+}
@@ -0,0 +1,65 @@
+package com.app.quantitymeasurement.cache;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class UserDetailsCacheTest {
+    private static final String EMAIL = "user@test.com";
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final UserDetails user = User.withUsername(EMAIL).password("x").authorities(List.of()).build();
+
+    private UserDetailsCache cache(long ttlMs) {
+        return new UserDetailsCache(userDetailsService, 100, ttlMs, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testLoad_SecondLookupIsServedFromCache() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+        UserDetailsCache cache = cache(60_000);
+
+        assertSame(user, cache.loadUserByUsername(EMAIL));
+        assertSame(user, cache.loadUserByUsername(EMAIL));
+
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    public void testInvalidate_ReloadsUser() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+        UserDetailsCache cache = cache(60_000);
+
+        cache.loadUserByUsername(EMAIL);
+        cache.invalidate(EMAIL);
+        cache.loadUserByUsername(EMAIL);
+
+        verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    public void testExpiredEntry_DeletedUserStopsAuthenticating() throws InterruptedException {
+        when(userDetailsService.loadUserByUsername(EMAIL))
+                .thenReturn(user)
+                .thenThrow(new UsernameNotFoundException("User not found with username " + EMAIL));
+        UserDetailsCache cache = cache(20);
+
+        cache.loadUserByUsername(EMAIL);
+        Thread.sleep(40);
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.loadUserByUsername(EMAIL));
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.quantitymeasurement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+public class AuditSequenceInitializerTest {
+
+    // The layout ddl-auto gives the pooled sequence on MySQL: a one-row table
+    private final SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+            "jdbc:h2:mem:sequence_test;MODE=MySQL", "sa", "", true);
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    private void createTables(long nextVal, long... ids) {
+        jdbc.execute("CREATE TABLE quantity_measurement_entity (id BIGINT PRIMARY KEY)");
+        jdbc.execute("CREATE TABLE quantity_measurement_seq (next_val BIGINT)");
+        jdbc.update("INSERT INTO quantity_measurement_seq VALUES (?)", nextVal);
+        for (long id : ids) {
+            jdbc.update("INSERT INTO quantity_measurement_entity VALUES (?)", id);
+        }
+    }
+
+    private long nextVal() {
+        new AuditSequenceInitializer(jdbc, mock(EntityManagerFactory.class)).alignWithExistingIds();
+        return jdbc.queryForObject("SELECT next_val FROM quantity_measurement_seq", Long.class);
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbc.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void testMovesFreshSequencePastIdentityIds() {
+        createTables(1, 1, 2, 1234);
+
+        assertThat(nextVal()).isEqualTo(1234 + 50 + 1);
+    }
+
+    @Test
+    void testNeverLowersSequence() {
+        createTables(10_000, 1, 2, 1234);
+
+        assertThat(nextVal()).isEqualTo(10_000);
+    }
+
+    @Test
+    void testEmptyTableLeavesSequenceAlone() {
+        createTables(1);
+
+        assertThat(nextVal()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.app.quantitymeasurement.controller;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.security.oauth2.client.autoconfigure.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.app.quantitymeasurement.dto.HistoryCursor;
+import com.app.quantitymeasurement.dto.HistoryPageDTO;
+import com.app.quantitymeasurement.filters.JWTFilter;
+import com.app.quantitymeasurement.service.IQuantityMeasurementService;
+import com.app.quantitymeasurement.service.RollupService;
+
+// the slice has no HttpSecurity for the OAuth2 client's filter chain; filters are off anyway
+@WebMvcTest(controllers = QuantityMeasurementController.class,
+        excludeAutoConfiguration = OAuth2ClientWebSecurityAutoConfiguration.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class HistoryEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IQuantityMeasurementService service;
+
+    @MockitoBean
+    private RollupService rollupService;
+
+    @MockitoBean
+    private JWTFilter jwtFilter;
+
+    @Test
+    public void testMalformedCursor_ReturnsBadRequest() throws Exception {
+        // the real service decodes the cursor before touching the repository
+        when(service.getOperationHistory(eq("ADD"), anyString(), anyInt())).thenAnswer(invocation -> {
+            HistoryCursor.decode(invocation.getArgument(1));
+            return new HistoryPageDTO(List.of(), null);
+        });
+
+        mockMvc.perform(get("/api/v1/quantities/history/operation/ADD").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    public void testSize_DefaultsAndIsPassedThrough() throws Exception {
+        when(service.getErrorHistory(null, HistoryPageDTO.DEFAULT_PAGE_SIZE)).thenReturn(new HistoryPageDTO(List.of(), null));
+        when(service.getErrorHistory(null, 100_000)).thenReturn(new HistoryPageDTO(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/quantities/history/errored"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/quantities/history/errored").param("size", "100000"))
+                .andExpect(status().isOk());
+
+        verify(service).getErrorHistory(null, HistoryPageDTO.DEFAULT_PAGE_SIZE);
+        verify(service).getErrorHistory(null, 100_000);
+    }
+
+    @Test
+    public void testNonNumericSize_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/quantities/history/type/LengthUnit").param("size", "lots"))
+                .andExpect(status().isBadRequest());
+    }
+}
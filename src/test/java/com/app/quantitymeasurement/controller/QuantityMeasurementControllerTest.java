@@ -12,10 +12,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.app.quantitymeasurement.dto.HistoryPageDTO;
 import com.app.quantitymeasurement.dto.QuantityDTO;
 import com.app.quantitymeasurement.dto.QuantityInputDTO;
 import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
 import com.app.quantitymeasurement.service.IQuantityMeasurementService;
+import com.app.quantitymeasurement.service.RollupService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @WebMvcTest(QuantityMeasurementController.class)
@@ -27,6 +29,9 @@ public class QuantityMeasurementControllerTest {
     @MockitoBean
     private IQuantityMeasurementService service;
 
+    @MockitoBean
+    private RollupService rollupService;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     private QuantityInputDTO quantity1;
@@ -89,19 +94,20 @@ public class QuantityMeasurementControllerTest {
 
     @Test
     public void testGetOperationHistory_Success() throws Exception {
-        Mockito.when(service.getOperationHistory("COMPARE")).thenReturn(java.util.Collections.emptyList());
+        Mockito.when(service.getOperationHistory("COMPARE", null, HistoryPageDTO.DEFAULT_PAGE_SIZE))
+                .thenReturn(new HistoryPageDTO(java.util.Collections.emptyList(), null));
 
         mockMvc.perform(
                 get("/api/v1/quantities/history/operation/COMPARE")
                         .contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.length()").value(0))
+        .andExpect(jsonPath("$.items.length()").value(0))
         .andReturn();
     }
 
     @Test
     public void testGetOperationCount_Success() throws Exception {
-        Mockito.when(service.getOperationCount("COMPARE")).thenReturn(0L);
+        Mockito.when(service.getOperationCount("COMPARE", false)).thenReturn(0L);
 
         mockMvc.perform(get("/api/v1/quantities/count/COMPARE")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -0,0 +1,111 @@
+package com.app.quantitymeasurement.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.security.oauth2.client.autoconfigure.servlet.OAuth2ClientWebSecurityAutoConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.app.quantitymeasurement.dto.QuantityDTO;
+import com.app.quantitymeasurement.dto.QuantityInputDTO;
+import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.filters.JWTFilter;
+import com.app.quantitymeasurement.service.IQuantityMeasurementService;
+import com.app.quantitymeasurement.service.RollupService;
+import com.app.quantitymeasurement.unit.LengthUnit;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+// the slice has no HttpSecurity for the OAuth2 client's filter chain; filters are off anyway
+@WebMvcTest(controllers = QuantityMeasurementController.class,
+        excludeAutoConfiguration = OAuth2ClientWebSecurityAutoConfiguration.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class WireFormatTest {
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IQuantityMeasurementService service;
+
+    @MockitoBean
+    private RollupService rollupService;
+
+    @MockitoBean
+    private JWTFilter jwtFilter;
+
+    private final CBORMapper cbor = CBORMapper.builder().build();
+    private final SmileMapper smile = SmileMapper.builder().build();
+
+    private static QuantityInputDTO input(String thatUnit) {
+        QuantityInputDTO input = new QuantityInputDTO();
+        input.setThisQuantityDTO(new QuantityDTO(1.0, "FEET", "LengthUnit"));
+        input.setThatQuantityDTO(new QuantityDTO(12.0, thatUnit, "LengthUnit"));
+        return input;
+    }
+
+    @Test
+    public void testCborRequest_SmileResponse() throws Exception {
+        QuantityMeasurementDTO result = new QuantityMeasurementDTO();
+        result.setOperation("ADD");
+        result.setResultValue(2.0);
+        result.setResultUnit("FEET");
+        result.setResultMeasurementType("LengthUnit");
+        when(service.add(any(), any())).thenReturn(result);
+
+        byte[] body = mockMvc.perform(post("/api/v1/quantities/add")
+                        .contentType(CBOR)
+                        .accept(SMILE)
+                        .content(cbor.writeValueAsBytes(input("INCHES"))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        QuantityMeasurementDTO decoded = smile.readValue(body, QuantityMeasurementDTO.class);
+        assertThat(decoded.getOperation()).isEqualTo("ADD");
+        assertThat(decoded.getResultValue()).isEqualTo(2.0);
+        assertThat(decoded.getResultUnit()).isEqualTo("FEET");
+
+        // the CBOR body went through QuantityDTODeserializer, so units arrive resolved
+        ArgumentCaptor<QuantityDTO> first = ArgumentCaptor.forClass(QuantityDTO.class);
+        ArgumentCaptor<QuantityDTO> second = ArgumentCaptor.forClass(QuantityDTO.class);
+        verify(service).add(first.capture(), second.capture());
+        assertThat(first.getValue().measurable()).isSameAs(LengthUnit.FEET);
+        assertThat(second.getValue().measurable()).isSameAs(LengthUnit.INCHES);
+        assertThat(second.getValue().getValue()).isEqualTo(12.0);
+    }
+
+    @Test
+    public void testCborRequest_InvalidUnitIsBadRequest() throws Exception {
+        byte[] body = mockMvc.perform(post("/api/v1/quantities/add")
+                        .contentType(CBOR)
+                        .accept(SMILE)
+                        .content(cbor.writeValueAsBytes(input("GRAM"))))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode error = smile.readTree(body);
+        assertThat(error.get("status").asInt()).isEqualTo(400);
+        assertThat(error.get("message").asString())
+                .contains("thatQuantityDTO")
+                .contains("Unit must be valid for the specified measurement type");
+        verify(service, never()).add(any(), any());
+    }
+}
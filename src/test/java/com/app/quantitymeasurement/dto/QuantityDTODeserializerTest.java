@@ -0,0 +1,129 @@
+package com.app.quantitymeasurement.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.quantitymeasurement.unit.LengthUnit;
+import com.app.quantitymeasurement.unit.TemperatureUnit;
+
+import tools.jackson.databind.exc.MismatchedInputException;
+import tools.jackson.databind.json.JsonMapper;
+
+public class QuantityDTODeserializerTest {
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private QuantityDTO read(String json) {
+        return mapper.readValue(json, QuantityDTO.class);
+    }
+
+    @Test
+    void testDeserialize_ResolvesUnitConstant() {
+        QuantityDTO dto = read("{\"value\": 1.5, \"unit\": \"FEET\", \"measurementType\": \"LengthUnit\"}");
+
+        assertThat(dto.value).isEqualTo(1.5);
+        assertThat(dto.measurable()).isSameAs(LengthUnit.FEET);
+    }
+
+    @Test
+    void testDeserialize_AnyFieldOrderAndUnknownFieldsIgnored() {
+        QuantityDTO dto = read("{\"measurementType\": \"TemperatureUnit\", \"extra\": {\"a\": [1, 2]}, \"unit\": \"celsius\", \"value\": \"100\"}");
+
+        assertThat(dto.value).isEqualTo(100.0);
+        assertThat(dto.unit).isEqualTo("CELSIUS");
+        assertThat(dto.measurable()).isSameAs(TemperatureUnit.CELSIUS);
+    }
+
+    @Test
+    void testMeasurable_FollowsUnitChangesAfterParsing() {
+        QuantityDTO dto = read("{\"value\": 1, \"unit\": \"FEET\", \"measurementType\": \"LengthUnit\"}");
+        assertThat(dto.measurable()).isSameAs(LengthUnit.FEET);
+
+        dto.setUnit("INCHES");
+        assertThat(dto.measurable()).isSameAs(LengthUnit.INCHES);
+
+        // the fields are public, so a direct write must not leave the old constant behind either
+        dto.unit = "CELSIUS";
+        dto.measurementType = "TemperatureUnit";
+        assertThat(dto.measurable()).isSameAs(TemperatureUnit.CELSIUS);
+
+        dto.setMeasurementType("WeightUnit");
+        assertThat(dto.measurable()).isNull();
+    }
+
+    @Test
+    void testDeserialize_NestedInInput() throws Exception {
+        QuantityInputDTO input = mapper.readValue("""
+                {
+                    "thisQuantityDTO": { "value": 1.0, "unit": "FEET", "measurementType": "LengthUnit" },
+                    "thatQuantityDTO": { "value": 12.0, "unit": "INCHES", "measurementType": "LengthUnit" }
+                }
+                """, QuantityInputDTO.class);
+
+        assertThat(input.getThisQuantityDTO().measurable()).isSameAs(LengthUnit.FEET);
+        assertThat(input.getThatQuantityDTO().measurable()).isSameAs(LengthUnit.INCHES);
+        assertThat(input.getTargetQuantityDTO()).isNull();
+    }
+
+    @Test
+    void testDeserialize_RejectsUnitOfAnotherType() {
+        assertThatThrownBy(() -> read("{\"value\": 1, \"unit\": \"GRAM\", \"measurementType\": \"LengthUnit\"}"))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Unit must be valid for the specified measurement type");
+    }
+
+    @Test
+    void testDeserialize_RejectsUnknownType() {
+        assertThatThrownBy(() -> read("{\"value\": 1, \"unit\": \"FEET\", \"measurementType\": \"InvalidType\"}"))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Measurement type must be one of");
+    }
+
+    @Test
+    void testDeserialize_RejectsMissingUnit() {
+        assertThatThrownBy(() -> read("{\"value\": 1, \"measurementType\": \"LengthUnit\"}"))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Unit cannot be null");
+    }
+
+    @Test
+    void testDeserialize_RejectsNonNumericValue() {
+        for (String value : new String[] {"\"abc\"", "true", "[5]", "{\"v\": 5}", "\"NaN\"", "\"Infinity\""}) {
+            assertThatThrownBy(() -> read("{\"value\": " + value + ", \"unit\": \"FEET\", \"measurementType\": \"LengthUnit\"}"))
+                    .as(value)
+                    .isInstanceOf(MismatchedInputException.class)
+                    .hasMessageContaining("Value must be a number");
+        }
+    }
+
+    @Test
+    void testDeserialize_RejectsMissingValue() {
+        for (String json : new String[] {
+                "{\"unit\": \"FEET\", \"measurementType\": \"LengthUnit\"}",
+                "{\"value\": null, \"unit\": \"FEET\", \"measurementType\": \"LengthUnit\"}"}) {
+            assertThatThrownBy(() -> read(json))
+                    .as(json)
+                    .isInstanceOf(MismatchedInputException.class)
+                    .hasMessageContaining("Value cannot be null");
+        }
+    }
+
+    @Test
+    void testDeserialize_RejectsNonStringUnitAndType() {
+        assertThatThrownBy(() -> read("{\"value\": 1, \"unit\": [\"FEET\"], \"measurementType\": \"LengthUnit\"}"))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Unit must be valid for the specified measurement type");
+        assertThatThrownBy(() -> read("{\"value\": 1, \"unit\": 5, \"measurementType\": \"LengthUnit\"}"))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Unit must be valid for the specified measurement type");
+        assertThatThrownBy(() -> read("{\"value\": 1, \"unit\": \"FEET\", \"measurementType\": {\"name\": \"LengthUnit\"}}"))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Measurement type must be one of");
+    }
+
+    @Test
+    void testDeserialize_AcceptsIntegerValue() {
+        assertThat(read("{\"value\": 3, \"unit\": \"FEET\", \"measurementType\": \"LengthUnit\"}").value).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.app.quantitymeasurement.expression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.quantitymeasurement.exception.QuantityMeasurementException;
+import com.app.quantitymeasurement.unit.LengthUnit;
+import com.app.quantitymeasurement.unit.TemperatureUnit;
+
+public class ExpressionPlanTest {
+
+    private static double evaluate(String expression) {
+        ExpressionTemplate template = ExpressionTemplate.of(expression);
+        return ExpressionPlan.compile(template.shape()).evaluate(template.values());
+    }
+
+    @Test
+    void testTemplate_SeparatesNumbersFromShape() {
+        ExpressionTemplate template = ExpressionTemplate.of("3 feet+2.5INCHES -1e1 centimeters  in Inches");
+
+        assertThat(template.shape()).isEqualTo("# FEET + # INCHES - # CENTIMETERS IN INCHES");
+        assertThat(template.values()).containsExactly(3.0, 2.5, 10.0);
+    }
+
+    @Test
+    void testTemplate_SameShapeForDifferentNumbers() {
+        assertThat(ExpressionTemplate.of("1 FEET + 2 INCHES").shape())
+                .isEqualTo(ExpressionTemplate.of("10.5 feet + 0.25 inches").shape());
+    }
+
+    @Test
+    void testEvaluate_SumConvertedToTargetUnit() {
+        assertThat(evaluate("3 FEET + 2 INCHES - 5 CENTIMETERS in INCHES")).isEqualTo(36.03);
+    }
+
+    @Test
+    void testEvaluate_DefaultsToFirstUnitAndHonoursSigns() {
+        ExpressionPlan plan = ExpressionPlan.compile(ExpressionTemplate.of("- 1 FEET + 36 INCHES").shape());
+
+        assertThat(plan.resultUnit()).isSameAs(LengthUnit.FEET);
+        assertThat(plan.evaluate(new double[] {1, 36})).isEqualTo(2.0);
+        assertThat(plan.evaluate(new double[] {2, 12})).isEqualTo(-1.0);
+    }
+
+    @Test
+    void testEvaluate_SingleTemperatureTermConverts() {
+        ExpressionPlan plan = ExpressionPlan.compile(ExpressionTemplate.of("100 CELSIUS in FAHRENHEIT").shape());
+
+        assertThat(plan.resultUnit()).isSameAs(TemperatureUnit.FAHRENHEIT);
+        assertThat(plan.evaluate(new double[] {100})).isEqualTo(212.0);
+    }
+
+    @Test
+    void testCompile_RejectsInvalidExpressions() {
+        assertThatThrownBy(() -> evaluate("1 FEET + 1 GRAM"))
+                .isInstanceOf(QuantityMeasurementException.class)
+                .hasMessage("Different measurement types not allowed");
+        assertThatThrownBy(() -> evaluate("1 CELSIUS + 1 CELSIUS"))
+                .isInstanceOf(QuantityMeasurementException.class)
+                .hasMessageContaining("does not support ADD");
+        assertThatThrownBy(() -> evaluate("1 PARSEC"))
+                .isInstanceOf(QuantityMeasurementException.class)
+                .hasMessage("Unknown unit 'PARSEC'");
+        assertThatThrownBy(() -> evaluate("1 FEET +"))
+                .isInstanceOf(QuantityMeasurementException.class)
+                .hasMessage("Expected a number at the end of the expression");
+        assertThatThrownBy(() -> evaluate("1 FEET * 2"))
+                .isInstanceOf(QuantityMeasurementException.class)
+                .hasMessage("Expected '+', '-' or 'in' but found '*'");
+        assertThatThrownBy(() -> evaluate(""))
+                .isInstanceOf(QuantityMeasurementException.class);
+    }
+}
@@ -0,0 +1,38 @@
+package com.app.quantitymeasurement.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestTraceFilterTest {
+
+    // MDC trace flag as seen by the rest of the chain
+    private String traceFlag(RequestTraceFilter filter, String headerValue) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/quantities/count/ADD");
+        if (headerValue != null) request.addHeader("X-Debug-Trace", headerValue);
+        List<String> seen = new ArrayList<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.add(MDC.get(RequestTraceFilter.MDC_KEY)));
+        return seen.get(0);
+    }
+
+    @Test
+    public void testHeaderIgnoredUnlessEnabled() throws Exception {
+        assertThat(traceFlag(new RequestTraceFilter(false, "X-Debug-Trace"), "true")).isNull();
+    }
+
+    @Test
+    public void testEnabledHeaderSetsTraceFlagForTheRequestOnly() throws Exception {
+        RequestTraceFilter filter = new RequestTraceFilter(true, "X-Debug-Trace");
+
+        assertThat(traceFlag(filter, "true")).isEqualTo("true");
+        assertThat(MDC.get(RequestTraceFilter.MDC_KEY)).isNull();
+        assertThat(traceFlag(filter, "false")).isNull();
+        assertThat(traceFlag(filter, null)).isNull();
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.quantitymeasurement.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application started in a child JVM on a free port, so load generators do not share
+ * heap, CPU accounting or file descriptors with the server they measure.
+ */
+final class AppProcess implements AutoCloseable {
+    static final String EMAIL = "load@test.com";
+    static final String PASSWORD = "Passw0rd@1";
+
+    private final Process process;
+    private final String baseUrl;
+
+    private AppProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    // Output goes to target/<logName>.log
+    static AppProcess start(String profiles, String logName, String... properties) throws IOException {
+        int port = freePort();
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        List<String> command = new ArrayList<>(List.of(
+                java,
+                "--add-modules", "jdk.incubator.vector",
+                "-Xmx1g",
+                "-cp", System.getProperty("java.class.path"),
+                "com.app.quantitymeasurement.QuantityMeasurementAppApplication",
+                "--spring.profiles.active=" + profiles,
+                "--server.port=" + port,
+                "--logging.level.root=WARN"));
+        for (String property : properties) {
+            command.add("--" + property);
+        }
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/" + logName + ".log"))
+                .start();
+        return new AppProcess(process, "http://localhost:" + port);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    // Signs up the load user (ignoring "already exists") and logs in once the server answers
+    static String awaitToken(String baseUrl) throws Exception {
+        String credentials = "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+        String signup = "{\"name\":\"Load Test\",\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(180);
+            while (System.nanoTime() < deadline) {
+                try {
+                    client.send(post(baseUrl + "/api/v1/auth/signup", signup), HttpResponse.BodyHandlers.discarding());
+                    HttpResponse<String> login = client.send(post(baseUrl + "/api/v1/auth/login", credentials),
+                            HttpResponse.BodyHandlers.ofString());
+                    if (login.statusCode() / 100 == 2) return login.body();
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(1000);
+            }
+        }
+        throw new IllegalStateException("Server at " + baseUrl + " did not come up");
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        process.waitFor(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,271 @@
+package com.app.quantitymeasurement.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Open-loop load generator: requests are issued on a fixed schedule (rate per second) whatever
+ * the server's response times, and each latency is measured from the request's scheduled start,
+ * not from when it was actually sent. A stalled server therefore shows up as queueing delay in
+ * the percentiles instead of silently lowering the offered load (coordinated omission).
+ *
+ * Starts the application on the h2 profile in a child JVM unless --url is given, logs in via
+ * /api/v1/auth/login and reports p50/p90/p99/p99.9/max per endpoint plus error counts.
+ *
+ * mvn -Ploadtest test -Dloadtest.main=OpenLoopLoadGenerator \
+ *     "-Dloadtest.args=--rate=500 --duration=60 --mix=compare:30,convert:30,add:30,history:10"
+ *
+ * Options: --rate (req/s, default 200), --duration (s, 60), --warmup (s, 15, not recorded),
+ * --mix (endpoint:weight, default above), --seed (42), --max-in-flight (20000),
+ * --profiles (h2), --url (use a running server instead), --hgrm (directory for .hgrm files),
+ * --format (json, cbor or smile: request and response encoding).
+ */
+public class OpenLoopLoadGenerator {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private static final String LENGTHS = "{\"thisQuantityDTO\":{\"value\":1,\"unit\":\"FEET\",\"measurementType\":\"LengthUnit\"},"
+            + "\"thatQuantityDTO\":{\"value\":12,\"unit\":\"INCHES\",\"measurementType\":\"LengthUnit\"}}";
+    private static final String TEMPERATURES = "{\"thisQuantityDTO\":{\"value\":100,\"unit\":\"CELSIUS\",\"measurementType\":\"TemperatureUnit\"},"
+            + "\"thatQuantityDTO\":{\"value\":0,\"unit\":\"FAHRENHEIT\",\"measurementType\":\"TemperatureUnit\"}}";
+
+    private record WireFormat(String mediaType, ObjectMapper mapper) {
+        static WireFormat of(String name) {
+            return switch (name) {
+                case "json" -> new WireFormat("application/json", JsonMapper.builder().build());
+                case "cbor" -> new WireFormat("application/cbor", CBORMapper.builder().build());
+                case "smile" -> new WireFormat("application/x-jackson-smile", SmileMapper.builder().build());
+                default -> throw new IllegalArgumentException("Unknown format '" + name + "', expected json, cbor or smile");
+            };
+        }
+
+        byte[] encode(String json) {
+            return mapper.writeValueAsBytes(JSON.readTree(json));
+        }
+    }
+
+    // Endpoint name -> request template; the name is what --mix refers to
+    private static Map<String, HttpRequest.Builder> endpoints(String baseUrl, WireFormat format) {
+        Map<String, HttpRequest.Builder> endpoints = new LinkedHashMap<>();
+        endpoints.put("compare", post(baseUrl + "/api/v1/quantities/compare", LENGTHS, format));
+        endpoints.put("convert", post(baseUrl + "/api/v1/quantities/convert", TEMPERATURES, format));
+        endpoints.put("add", post(baseUrl + "/api/v1/quantities/add", LENGTHS, format));
+        endpoints.put("subtract", post(baseUrl + "/api/v1/quantities/subtract", LENGTHS, format));
+        endpoints.put("divide", post(baseUrl + "/api/v1/quantities/divide", LENGTHS, format));
+        endpoints.put("history", get(baseUrl + "/api/v1/quantities/history/operation/CONVERT?size=50", format));
+        endpoints.put("count", get(baseUrl + "/api/v1/quantities/count/CONVERT", format));
+        return endpoints;
+    }
+
+    private static HttpRequest.Builder post(String url, String body, WireFormat format) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", format.mediaType())
+                .header("Accept", format.mediaType())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(format.encode(body)));
+    }
+
+    private static HttpRequest.Builder get(String url, WireFormat format) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", format.mediaType())
+                .GET();
+    }
+
+    private static final class EndpointStats {
+        final String name;
+        final HttpRequest request;
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+        final Map<String, LongAdder> errorsByKind = new ConcurrentHashMap<>();
+
+        EndpointStats(String name, HttpRequest request) {
+            this.name = name;
+            this.request = request;
+        }
+
+        void error(String kind, boolean recording) {
+            if (!recording) return;
+            errors.increment();
+            errorsByKind.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .collect(Collectors.toMap(arg -> arg.substring(2, arg.indexOf('=')), arg -> arg.substring(arg.indexOf('=') + 1)));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "20000"));
+        String mix = options.getOrDefault("mix", "compare:30,convert:30,add:30,history:10");
+        WireFormat format = WireFormat.of(options.getOrDefault("format", "json"));
+
+        AppProcess server = null;
+        String baseUrl = options.get("url");
+        if (baseUrl == null) {
+            server = AppProcess.start(options.getOrDefault("profiles", "h2"), "loadtest-open-loop",
+                    "server.tomcat.max-connections=20000");
+            baseUrl = server.baseUrl();
+        }
+
+        try {
+            String token = AppProcess.awaitToken(baseUrl);
+            List<EndpointStats> stats = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            Map<String, HttpRequest.Builder> endpoints = endpoints(baseUrl, format);
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.split(":");
+                HttpRequest.Builder template = endpoints.get(parts[0]);
+                if (template == null) {
+                    throw new IllegalArgumentException("Unknown endpoint '" + parts[0] + "', expected one of " + endpoints.keySet());
+                }
+                stats.add(new EndpointStats(parts[0], template.copy()
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(60))
+                        .build()));
+                weights.add(Integer.parseInt(parts[1]));
+            }
+
+            System.out.printf("Offering %.0f req/s for %ds after %ds warmup, mix %s, %s%n",
+                    rate, duration, warmup, mix, format.mediaType());
+            long dropped = run(stats, weights, rate, warmup, duration, seed, maxInFlight);
+
+            print(stats, duration, dropped);
+            if (options.containsKey("hgrm")) {
+                writeHistograms(stats, new File(options.get("hgrm")));
+            }
+        } finally {
+            if (server != null) server.close();
+        }
+    }
+
+    // Returns requests not issued because max-in-flight was reached
+    private static long run(List<EndpointStats> stats, List<Integer> weights, double rate,
+                            int warmup, int duration, long seed, int maxInFlight) throws InterruptedException {
+        int totalWeight = weights.stream().mapToInt(Integer::intValue).sum();
+        SplittableRandom random = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LongAdder dropped = new LongAdder();
+
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+        long end = recordFrom + TimeUnit.SECONDS.toNanos(duration);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * intervalNanos;
+                if (scheduled >= end) break;
+
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                EndpointStats endpoint = pick(stats, weights, totalWeight, random);
+                boolean recording = scheduled >= recordFrom;
+
+                if (!inFlight.tryAcquire()) {
+                    if (recording) dropped.increment();
+                    endpoint.error("client saturated", recording);
+                    continue;
+                }
+                executor.submit(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(endpoint.request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() / 100 == 2) {
+                            // From the scheduled start, so time spent queued behind a slow server counts
+                            if (recording) endpoint.latencies.recordValue(Math.min(System.nanoTime() - scheduled, HIGHEST_TRACKABLE_NANOS));
+                        } else {
+                            endpoint.error("HTTP " + response.statusCode(), recording);
+                        }
+                    } catch (IOException e) {
+                        endpoint.error(e.getClass().getSimpleName(), recording);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(2, TimeUnit.MINUTES);
+        }
+        return dropped.sum();
+    }
+
+    private static EndpointStats pick(List<EndpointStats> stats, List<Integer> weights, int totalWeight,
+                                      SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (int i = 0; i < stats.size(); i++) {
+            ticket -= weights.get(i);
+            if (ticket < 0) return stats.get(i);
+        }
+        return stats.get(stats.size() - 1);
+    }
+
+    private static void print(List<EndpointStats> stats, int duration, long dropped) {
+        System.out.printf("%n%-10s %9s %8s %9s %9s %9s %9s %10s %10s%n",
+                "endpoint", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats s : stats) {
+            Histogram h = s.latencies;
+            System.out.printf("%-10s %9d %8d %9.1f %9.2f %9.2f %9.2f %10.2f %10.2f%n",
+                    s.name, h.getTotalCount(), s.errors.sum(), h.getTotalCount() / (double) duration,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()));
+        }
+        for (EndpointStats s : stats) {
+            s.errorsByKind.forEach((kind, count) -> System.out.printf("%s errors: %s x%d%n", s.name, kind, count.sum()));
+        }
+        if (dropped > 0) {
+            System.out.printf("%d requests not issued: max-in-flight reached%n", dropped);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // HdrHistogram percentile distributions (plot with HistogramLogAnalyzer or hdrhistogram.github.io/HdrHistogram/plotFiles.html)
+    private static void writeHistograms(List<EndpointStats> stats, File directory) throws IOException {
+        directory.mkdirs();
+        for (EndpointStats s : stats) {
+            try (PrintStream out = new PrintStream(new File(directory, s.name + ".hgrm"))) {
+                s.latencies.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+        System.out.println("Histograms written to " + directory.getAbsolutePath());
+    }
+}
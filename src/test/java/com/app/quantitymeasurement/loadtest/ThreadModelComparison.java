@@ -0,0 +1,162 @@
+package com.app.quantitymeasurement.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Closed-loop comparison of platform vs virtual request threads on the h2 profile. For each
+ * mode it starts the application in a child JVM, then for each concurrency level runs that
+ * many clients, each sending POST /convert back to back, and reports throughput and latency.
+ * Both modes get the same Hikari pool and Tomcat connection limits, so only the thread model differs.
+ *
+ * mvn -Ploadtest test "-Dloadtest.args=--levels=1000,5000,10000 --duration=20"
+ */
+public class ThreadModelComparison {
+    private static final String BODY = "{\"thisQuantityDTO\":{\"value\":1,\"unit\":\"FEET\",\"measurementType\":\"LengthUnit\"},"
+            + "\"thatQuantityDTO\":{\"value\":0,\"unit\":\"INCHES\",\"measurementType\":\"LengthUnit\"}}";
+
+    record Result(String mode, int clients, long requests, long errors, String firstError,
+                  double seconds, long[] latenciesNanos) {
+        double throughput() {
+            return requests / seconds;
+        }
+
+        double percentileMillis(double percentile) {
+            if (latenciesNanos.length == 0) return Double.NaN;
+            int index = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    // Latencies of one client; plain array so recording does not allocate per request
+    private static final class Recorder {
+        long[] latencies = new long[1024];
+        int count;
+        long errors;
+        String firstError;
+
+        void error(String description) {
+            if (errors++ == 0) firstError = description;
+        }
+
+        void record(long nanos) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .collect(Collectors.toMap(arg -> arg.substring(2, arg.indexOf('=')), arg -> arg.substring(arg.indexOf('=') + 1)));
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "1000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int seconds = Integer.parseInt(options.getOrDefault("duration", "20"));
+        String[] modes = options.getOrDefault("modes", "platform,virtual").split(",");
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            try (AppProcess server = AppProcess.start(mode.equals("virtual") ? "h2,virtual" : "h2", "loadtest-" + mode,
+                    "spring.datasource.hikari.maximum-pool-size=50",
+                    "server.tomcat.max-connections=20000",
+                    "server.tomcat.accept-count=1000")) {
+                String token = AppProcess.awaitToken(server.baseUrl());
+
+                // Warm up JIT, connection pools and the Hibernate caches before measuring
+                run(mode, server.baseUrl(), token, 100, 10);
+                for (int clients : levels) {
+                    Result result = run(mode, server.baseUrl(), token, clients, seconds);
+                    results.add(result);
+                    print(List.of(result));
+                }
+            }
+        }
+
+        System.out.println();
+        print(results);
+    }
+
+    private static Result run(String mode, String baseUrl, String token, int clients, int seconds) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/quantities/convert"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .build();
+
+        Recorder[] recorders = new Recorder[clients];
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            for (int i = 0; i < clients; i++) {
+                Recorder recorder = recorders[i] = new Recorder();
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                recorder.record(System.nanoTime() - sent);
+                            } else {
+                                recorder.error("HTTP " + response.statusCode());
+                            }
+                        } catch (IOException e) {
+                            recorder.error(e.toString());
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        int total = Arrays.stream(recorders).mapToInt(r -> r.count).sum();
+        long[] latencies = new long[total];
+        long errors = 0;
+        String firstError = null;
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.count);
+            offset += recorder.count;
+            errors += recorder.errors;
+            if (firstError == null) firstError = recorder.firstError;
+        }
+        Arrays.sort(latencies);
+        return new Result(mode, clients, total, errors, firstError, elapsed, latencies);
+    }
+
+    private static void print(List<Result> results) {
+        System.out.printf("%-9s %8s %10s %8s %12s %9s %9s %9s%n",
+                "mode", "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Result r : results) {
+            System.out.printf("%-9s %8d %10d %8d %12.1f %9.1f %9.1f %9.1f%n",
+                    r.mode(), r.clients(), r.requests(), r.errors(), r.throughput(),
+                    r.percentileMillis(50), r.percentileMillis(99), r.percentileMillis(100));
+        }
+        for (Result r : results) {
+            if (r.firstError() != null) {
+                System.out.printf("%s/%d first error: %s%n", r.mode(), r.clients(), r.firstError());
+            }
+        }
+    }
+}
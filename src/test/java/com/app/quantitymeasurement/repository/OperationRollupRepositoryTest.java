@@ -0,0 +1,108 @@
+package com.app.quantitymeasurement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.app.quantitymeasurement.config.RollupProperties;
+import com.app.quantitymeasurement.model.OperationRollupEntity;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.model.RollupGranularity;
+import com.app.quantitymeasurement.service.RollupService;
+import com.app.quantitymeasurement.service.impl.RollupServiceImpl;
+
+@DataJpaTest
+public class OperationRollupRepositoryTest {
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2026, 1, 5, 10, 0);
+
+    @Autowired
+    private OperationRollupRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OperationRollupEntity bucket() {
+        entityManager.clear();
+        return repository.findBucket(RollupGranularity.MINUTE, MINUTE, "CONVERT", "WeightUnit", false).orElseThrow();
+    }
+
+    private OperationRollupEntity insertBucket(Double min, Double max) {
+        OperationRollupEntity row = new OperationRollupEntity(RollupGranularity.MINUTE, MINUTE, "CONVERT", "WeightUnit", false);
+        row.merge(2, min == null ? 0 : 2, min == null ? 0 : min + max, min, max);
+        return entityManager.persistFlushFind(row);
+    }
+
+    private static QuantityMeasurementEntity kilograms(double value) {
+        QuantityMeasurementEntity entity = new QuantityMeasurementEntity(
+                value, "KILOGRAM", "WeightUnit", 0, "GRAM", "WeightUnit", "CONVERT", value * 1000, "GRAM", "WeightUnit");
+        entity.createdAt = MINUTE.plusSeconds(30);
+        return entity;
+    }
+
+    @Test
+    void testAddToBucket_IncrementsInPlaceAndBumpsVersion() {
+        long version = insertBucket(10.0, 20.0).getVersion();
+
+        int updated = repository.addToBucket(RollupGranularity.MINUTE, MINUTE, "CONVERT", "WeightUnit", false,
+                3, 3, 30.0, 5.0, 15.0);
+
+        assertThat(updated).isEqualTo(1);
+        OperationRollupEntity row = bucket();
+        assertThat(row.count).isEqualTo(5);
+        assertThat(row.valueCount).isEqualTo(5);
+        assertThat(row.sum).isEqualTo(60.0);
+        assertThat(row.min).isEqualTo(5.0);
+        assertThat(row.max).isEqualTo(20.0);
+        assertThat(row.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void testAddToBucket_NullMinMaxKeepsColumnsAndFillsEmptyOnes() {
+        insertBucket(null, null);
+
+        repository.addToBucket(RollupGranularity.MINUTE, MINUTE, "CONVERT", "WeightUnit", false, 1, 0, 0, null, null);
+        assertThat(bucket().min).isNull();
+
+        repository.addToBucket(RollupGranularity.MINUTE, MINUTE, "CONVERT", "WeightUnit", false, 1, 1, 7.0, 7.0, 7.0);
+        OperationRollupEntity row = bucket();
+        assertThat(row.count).isEqualTo(4);
+        assertThat(row.min).isEqualTo(7.0);
+        assertThat(row.max).isEqualTo(7.0);
+
+        repository.addToBucket(RollupGranularity.MINUTE, MINUTE, "CONVERT", "WeightUnit", false, 1, 0, 0, null, null);
+        assertThat(bucket().min).isEqualTo(7.0);
+    }
+
+    @Test
+    void testAddToBucket_MissingBucketUpdatesNothing() {
+        assertThat(repository.addToBucket(RollupGranularity.MINUTE, MINUTE, "CONVERT", "WeightUnit", false,
+                1, 1, 1.0, 1.0, 1.0)).isZero();
+    }
+
+    @Test
+    void testFlush_TwoNodesAddIntoTheSameBucket() {
+        RollupService first = new RollupServiceImpl(repository, new RollupProperties(), transactionManager);
+        RollupService second = new RollupServiceImpl(repository, new RollupProperties(), transactionManager);
+
+        first.recordedAll(List.of(kilograms(1), kilograms(2)));
+        second.recordedAll(List.of(kilograms(3)));
+        first.flush();
+        second.flush();
+
+        OperationRollupEntity row = bucket();
+        assertThat(row.count).isEqualTo(3);
+        assertThat(row.sum).isEqualTo(6000.0);
+        assertThat(row.min).isEqualTo(1000.0);
+        assertThat(row.max).isEqualTo(3000.0);
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.quantitymeasurement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.app.quantitymeasurement.config.ArchiveProperties;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+import com.app.quantitymeasurement.service.impl.ArchiveServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ArchiveServiceTest {
+
+    private final QuantityMeasurementRepository repository = mock(QuantityMeasurementRepository.class);
+
+    private ArchiveService archive(boolean enabled, String directory) {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setEnabled(enabled);
+        properties.setDirectory(directory);
+        return new ArchiveServiceImpl(repository, properties, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testDisabledByDefaultAndNeedsNoDirectory() {
+        assertThat(new ArchiveProperties().isEnabled()).isFalse();
+
+        ArchiveService archive = archive(false, null);
+        archive.archive();
+
+        assertThat(archive.newest()).isNull();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void testEnabledWithoutDirectoryFailsStartup() {
+        assertThatThrownBy(() -> archive(true, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("quantity.archive.directory");
+        assertThatThrownBy(() -> archive(true, " "))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testEnabledWithRelativeDirectoryFailsStartup() {
+        assertThatThrownBy(() -> archive(true, "archive"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("absolute path");
+    }
+
+    @Test
+    public void testEnabledWithAbsoluteDirectory(@TempDir Path directory) {
+        assertThat(archive(true, directory.toString()).newest()).isNull();
+    }
+}
@@ -0,0 +1,181 @@
+package com.app.quantitymeasurement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.quantitymeasurement.config.AuditProperties;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+import com.app.quantitymeasurement.service.impl.AuditServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AuditServiceTest {
+
+    private final QuantityMeasurementRepository repository = mock(QuantityMeasurementRepository.class);
+    private final OperationCounterService counters = mock(OperationCounterService.class);
+    private final RollupService rollups = mock(RollupService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // rows handed to saveAll that it returned from, i.e. that reached the table
+    private final List<QuantityMeasurementEntity> saved = Collections.synchronizedList(new ArrayList<>());
+
+    private AuditServiceImpl audit;
+
+    private AuditServiceImpl writeBehind(int capacity, AuditProperties.OverflowPolicy policy) {
+        AuditProperties properties = new AuditProperties();
+        properties.setMode(AuditProperties.Mode.WRITE_BEHIND);
+        properties.setQueueCapacity(capacity);
+        properties.setBatchSize(100);
+        properties.setFlushIntervalMs(50);
+        properties.setOverflowPolicy(policy);
+        properties.setRetryBackoffMs(1);
+        audit = new AuditServiceImpl(repository, properties, counters, rollups, meterRegistry);
+        return audit;
+    }
+
+    private static QuantityMeasurementEntity row(int value) {
+        return new QuantityMeasurementEntity(
+                value, "FEET", "LengthUnit", 12, "INCHES", "LengthUnit", "ADD", value + 1, "FEET", "LengthUnit");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordSaveAll() {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0, List.class));
+            return invocation.getArgument(0);
+        });
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @AfterEach
+    void stop() {
+        if (audit != null && audit.isRunning()) audit.stop();
+    }
+
+    @Test
+    void testWriteBehind_BatchesQueuedRowsIntoSaveAll() {
+        recordSaveAll();
+        writeBehind(100, AuditProperties.OverflowPolicy.BLOCK).start();
+
+        audit.recordAll(List.of(row(1), row(2), row(3)));
+
+        verify(counters, timeout(2_000)).recordedAll(anyList());
+        assertThat(saved).extracting(entity -> entity.thisValue).containsExactly(1.0, 2.0, 3.0);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testStop_DrainsQueuedRows() {
+        recordSaveAll();
+        writeBehind(100, AuditProperties.OverflowPolicy.BLOCK);
+        // enqueued before the flusher starts, so they are all still queued when stop() runs
+        for (int i = 0; i < 10; i++) {
+            audit.record(row(i));
+        }
+        audit.start();
+        audit.stop();
+
+        assertThat(saved).hasSize(10);
+    }
+
+    @Test
+    void testOverflow_DropCountsAndDiscards() {
+        writeBehind(2, AuditProperties.OverflowPolicy.DROP);
+
+        audit.recordAll(List.of(row(1), row(2), row(3)));
+
+        assertThat(counter("quantity.audit.dropped")).isEqualTo(1.0);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testOverflow_SyncSavesOnCallerThread() {
+        writeBehind(2, AuditProperties.OverflowPolicy.SYNC);
+        QuantityMeasurementEntity third = row(3);
+
+        audit.recordAll(List.of(row(1), row(2), third));
+
+        verify(repository).save(third);
+        verify(counters).recorded(third);
+    }
+
+    @Test
+    void testOverflow_BlockWaitsForRoom() throws Exception {
+        recordSaveAll();
+        writeBehind(2, AuditProperties.OverflowPolicy.BLOCK);
+        audit.recordAll(List.of(row(1), row(2)));
+
+        Thread caller = new Thread(() -> audit.record(row(3)));
+        caller.start();
+        caller.join(200);
+        assertThat(caller.isAlive()).isTrue();
+
+        // the flusher makes room, and the blocked row is queued and persisted like the rest
+        audit.start();
+        caller.join(2_000);
+        assertThat(caller.isAlive()).isFalse();
+        audit.stop();
+        assertThat(saved).hasSize(3);
+    }
+
+    @Test
+    void testFlush_RetriesFailedBatch() {
+        AtomicInteger attempts = new AtomicInteger();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<QuantityMeasurementEntity> batch = invocation.getArgument(0);
+            // the failed transaction assigned ids before rolling back
+            batch.forEach(entity -> entity.setId(99L));
+            if (attempts.incrementAndGet() < 3) throw new IllegalStateException("connection reset");
+            saved.addAll(batch);
+            return batch;
+        });
+        writeBehind(100, AuditProperties.OverflowPolicy.BLOCK).start();
+
+        audit.recordAll(List.of(row(1), row(2)));
+
+        verify(counters, timeout(2_000)).recordedAll(anyList());
+        assertThat(attempts).hasValue(3);
+        assertThat(saved).hasSize(2);
+        assertThat(counter("quantity.audit.failed")).isZero();
+    }
+
+    @Test
+    void testFlush_FallsBackToRowByRowAndCountsOnlyLostRows() {
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("batch rejected"));
+        QuantityMeasurementEntity bad = row(2);
+        List<QuantityMeasurementEntity> savedOneByOne = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            QuantityMeasurementEntity entity = invocation.getArgument(0);
+            assertThat(entity.getId()).isNull();
+            if (entity == bad) throw new IllegalStateException("row rejected");
+            savedOneByOne.add(entity);
+            return entity;
+        }).when(repository).save(any());
+        writeBehind(100, AuditProperties.OverflowPolicy.BLOCK).start();
+
+        audit.recordAll(List.of(row(1), bad, row(3)));
+
+        verify(counters, timeout(2_000).times(2)).recorded(any());
+        assertThat(savedOneByOne).extracting(entity -> entity.thisValue).containsExactly(1.0, 3.0);
+        assertThat(counter("quantity.audit.failed")).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.quantitymeasurement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import com.app.quantitymeasurement.config.AuthPoolProperties;
+import com.app.quantitymeasurement.exception.ThrottledException;
+import com.app.quantitymeasurement.service.impl.AuthWorkerPoolImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AuthWorkerPoolTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void releaseWorkers() {
+        release.countDown();
+    }
+
+    private AuthWorkerPool pool(int poolSize, int queueCapacity, int perIp, int perEmail) {
+        AuthPoolProperties properties = new AuthPoolProperties();
+        properties.setPoolSize(poolSize);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setPerIpLimit(perIp);
+        properties.setPerEmailLimit(perEmail);
+        return new AuthWorkerPoolImpl(properties, new SimpleMeterRegistry());
+    }
+
+    // Occupies a slot until the test ends
+    private void block(AuthWorkerPool pool, String ip, String email) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> pool.execute(ip, email, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        started.await();
+    }
+
+    @Test
+    public void testExecute_ReturnsWorkResultAndRethrowsItsFailure() {
+        AuthWorkerPool pool = pool(1, 1, 1, 1);
+
+        assertEquals("hash", pool.execute("1.1.1.1", "a@test.com", () -> "hash"));
+        assertThrows(BadCredentialsException.class, () -> pool.execute("1.1.1.1", "a@test.com", () -> {
+            throw new BadCredentialsException("Bad credentials");
+        }));
+    }
+
+    @Test
+    public void testExecute_PerEmailLimitGives429() throws InterruptedException {
+        AuthWorkerPool pool = pool(2, 2, 10, 1);
+        block(pool, "1.1.1.1", "a@test.com");
+
+        ThrottledException ex = assertThrows(ThrottledException.class,
+                () -> pool.execute("2.2.2.2", "a@test.com", () -> "hash"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+    }
+
+    @Test
+    public void testExecute_FullPoolGives503() throws InterruptedException {
+        AuthWorkerPool pool = pool(1, 1, 10, 10);
+        block(pool, "1.1.1.1", "a@test.com");
+        CompletableFuture.runAsync(() -> pool.execute("1.1.1.1", "b@test.com", () -> "queued"));
+        Thread.sleep(100);
+
+        ThrottledException ex = assertThrows(ThrottledException.class,
+                () -> pool.execute("1.1.1.1", "c@test.com", () -> "hash"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+    }
+}
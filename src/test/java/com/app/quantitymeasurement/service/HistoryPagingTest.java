@@ -0,0 +1,180 @@
+package com.app.quantitymeasurement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import com.app.quantitymeasurement.cache.ExpressionPlanCache;
+import com.app.quantitymeasurement.config.ArithmeticProperties;
+import com.app.quantitymeasurement.config.StreamProperties;
+import com.app.quantitymeasurement.dto.HistoryPageDTO;
+import com.app.quantitymeasurement.exception.QuantityMeasurementException;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+import com.app.quantitymeasurement.service.impl.QuantityMeasurementServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import tools.jackson.databind.json.JsonMapper;
+
+@DataJpaTest
+public class HistoryPagingTest {
+
+    @Autowired
+    private QuantityMeasurementRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private IQuantityMeasurementService service() {
+        return new QuantityMeasurementServiceImpl(
+                repository, mock(AuditService.class), null, mock(ArchiveService.class),
+                new StreamProperties(), JsonMapper.builder().build(),
+                new ExpressionPlanCache(100, new SimpleMeterRegistry()),
+                new ArithmeticProperties(), new SimpleMeterRegistry());
+    }
+
+    // thisValue is the row number, so pages can be checked by value alone
+    private static QuantityMeasurementEntity row(int n, String operation) {
+        return new QuantityMeasurementEntity(
+                n, "FEET", "LengthUnit", 1, "FEET", "LengthUnit", operation, n + 1, "FEET", "LengthUnit");
+    }
+
+    private static QuantityMeasurementEntity errorRow(int n) {
+        return new QuantityMeasurementEntity(
+                n, "FEET", "LengthUnit", 1, "GRAM", "WeightUnit", "ADD", "Different measurement types not allowed", true);
+    }
+
+    // @CreationTimestamp stamps every insert, so shared timestamps are set afterwards
+    private void stamp(List<QuantityMeasurementEntity> rows, LocalDateTime createdAt) {
+        for (QuantityMeasurementEntity entity : rows) {
+            entityManager.getEntityManager()
+                    .createNativeQuery("UPDATE quantity_measurement_entity SET created_at = ?1 WHERE id = ?2")
+                    .setParameter(1, createdAt)
+                    .setParameter(2, entity.getId())
+                    .executeUpdate();
+        }
+    }
+
+    private static List<Double> walk(BiFunction<String, Integer, HistoryPageDTO> history, int size) {
+        List<Double> values = new ArrayList<>();
+        String cursor = null;
+        do {
+            HistoryPageDTO page = history.apply(cursor, size);
+            assertThat(page.items.size()).isBetween(1, size);
+            page.items.stream().map(item -> item.thisValue).forEach(values::add);
+            cursor = page.nextCursor;
+        } while (cursor != null);
+        return values;
+    }
+
+    // Newest first; rows sharing a timestamp are ordered by id, which follows insertion order here
+    private static List<Double> newestFirst(List<QuantityMeasurementEntity> rows) {
+        return rows.stream()
+                .sorted((a, b) -> {
+                    int byTime = b.createdAt.compareTo(a.createdAt);
+                    return byTime != 0 ? byTime : Long.compare(b.getId(), a.getId());
+                })
+                .map(entity -> entity.thisValue)
+                .toList();
+    }
+
+    private List<QuantityMeasurementEntity> insertSharingTimestamps(List<QuantityMeasurementEntity> rows) {
+        List<QuantityMeasurementEntity> saved = repository.saveAllAndFlush(rows);
+        LocalDateTime older = LocalDateTime.of(2025, 3, 1, 12, 0);
+        LocalDateTime newer = older.plusSeconds(1);
+        // two runs of tied timestamps, each longer than a page, so cursors land inside them
+        stamp(saved.subList(0, saved.size() / 2), older);
+        stamp(saved.subList(saved.size() / 2, saved.size()), newer);
+        entityManager.clear();
+        for (int i = 0; i < saved.size(); i++) {
+            saved.get(i).createdAt = i < saved.size() / 2 ? older : newer;
+        }
+        return saved;
+    }
+
+    @Test
+    void testOperationHistory_WalksTiedTimestampsWithoutDuplicatesOrGaps() {
+        List<QuantityMeasurementEntity> rows = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            rows.add(row(i, i % 3 == 0 ? "SUBTRACT" : "ADD"));
+        }
+        List<QuantityMeasurementEntity> saved = insertSharingTimestamps(rows);
+        IQuantityMeasurementService service = service();
+
+        List<Double> walked = walk((cursor, size) -> service.getOperationHistory("ADD", cursor, size), 4);
+
+        assertThat(walked).containsExactlyElementsOf(
+                newestFirst(saved.stream().filter(entity -> entity.operation.equals("ADD")).toList()));
+    }
+
+    @Test
+    void testTypeAndErrorHistory_WalkTiedTimestampsWithoutDuplicatesOrGaps() {
+        List<QuantityMeasurementEntity> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            rows.add(i % 2 == 0 ? errorRow(i) : row(i, "ADD"));
+        }
+        List<QuantityMeasurementEntity> saved = insertSharingTimestamps(rows);
+        IQuantityMeasurementService service = service();
+
+        assertThat(walk((cursor, size) -> service.getMeasurementsByType("LengthUnit", cursor, size), 3))
+                .containsExactlyElementsOf(newestFirst(saved));
+        assertThat(walk(service::getErrorHistory, 3))
+                .containsExactlyElementsOf(newestFirst(saved.stream().filter(entity -> entity.isError).toList()));
+    }
+
+    @Test
+    void testPageSize_IsClampedToOneAndMax() {
+        List<QuantityMeasurementEntity> rows = new ArrayList<>();
+        for (int i = 0; i < HistoryPageDTO.MAX_PAGE_SIZE + 10; i++) {
+            rows.add(row(i, "ADD"));
+        }
+        repository.saveAllAndFlush(rows);
+        IQuantityMeasurementService service = service();
+
+        HistoryPageDTO smallest = service.getOperationHistory("ADD", null, 0);
+        assertThat(smallest.items).hasSize(1);
+        assertThat(smallest.nextCursor).isNotNull();
+
+        assertThat(service.getOperationHistory("ADD", null, -5).items).hasSize(1);
+
+        HistoryPageDTO largest = service.getOperationHistory("ADD", null, 100_000);
+        assertThat(largest.items).hasSize(HistoryPageDTO.MAX_PAGE_SIZE);
+        HistoryPageDTO rest = service.getOperationHistory("ADD", largest.nextCursor, 100_000);
+        assertThat(rest.items).hasSize(10);
+        assertThat(rest.nextCursor).isNull();
+    }
+
+    @Test
+    void testMalformedCursor_IsRejected() {
+        IQuantityMeasurementService service = service();
+        String notBase64 = "%%%";
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2025-03-01T12:00".getBytes());
+        String badId = Base64.getUrlEncoder().encodeToString("2025-03-01T12:00|x".getBytes());
+
+        for (String cursor : List.of(notBase64, noSeparator, badId)) {
+            assertThatThrownBy(() -> service.getOperationHistory("ADD", cursor, 10))
+                    .isInstanceOf(QuantityMeasurementException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Test
+    void testEmptyHistory_HasNoCursor() {
+        HistoryPageDTO page = service().getErrorHistory(null, 10);
+
+        assertThat(page.items).isEmpty();
+        assertThat(page.nextCursor).isNull();
+    }
+}
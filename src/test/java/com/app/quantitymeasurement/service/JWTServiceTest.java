@@ -0,0 +1,71 @@
+package com.app.quantitymeasurement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Base64;
+import java.util.Date;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+
+import com.app.quantitymeasurement.service.impl.JWTServiceImpl;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class JWTServiceTest {
+
+    // the key JWTServiceImpl signs with, so these tokens carry a valid signature
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(Base64.getDecoder()
+            .decode("VGhpcy1pcy1hLXN1cGVyLXNlY3VyZS1KV1Qtc2VjcmV0LWtleS0yMDI2LWRldm9wcw=="));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JWTService jwtService = new JWTServiceImpl(100, meterRegistry);
+
+    @Test
+    public void testParseVerifiedClaims_AcceptsGeneratedToken() {
+        String token = jwtService.generateToken("user@test.com");
+
+        assertThat(jwtService.parseVerifiedClaims(token).getSubject()).isEqualTo("user@test.com");
+        assertThat(jwtService.extractUserName(token)).isEqualTo("user@test.com");
+    }
+
+    @Test
+    public void testParseVerifiedClaims_RejectsSignedTokenWithoutExpiration() {
+        String token = Jwts.builder()
+                .subject("user@test.com")
+                .issuedAt(new Date())
+                .signWith(KEY)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.parseVerifiedClaims(token)).isInstanceOf(AccessDeniedException.class);
+        // rejected again rather than served from the verified-token cache
+        assertThatThrownBy(() -> jwtService.parseVerifiedClaims(token)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    public void testParseVerifiedClaims_RejectsExpiredToken() {
+        String token = Jwts.builder()
+                .subject("user@test.com")
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(KEY)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.parseVerifiedClaims(token)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    public void testParseVerifiedClaims_RejectsTokenSignedWithAnotherKey() {
+        String token = Jwts.builder()
+                .subject("user@test.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.parseVerifiedClaims(token)).isInstanceOf(AccessDeniedException.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.quantitymeasurement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.quantitymeasurement.dto.OperationCountView;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.repository.QuantityMeasurementRepository;
+import com.app.quantitymeasurement.service.impl.OperationCounterServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OperationCounterServiceTest {
+
+    private final QuantityMeasurementRepository repository = mock(QuantityMeasurementRepository.class);
+    private final OperationCounterService counters =
+            new OperationCounterServiceImpl(repository, mock(ArchiveService.class), new SimpleMeterRegistry());
+
+    @Test
+    public void testReconcile_SeedsFromDatabase() {
+        when(repository.countGroupedByOperationAndIsError()).thenReturn(List.of(
+                new OperationCountView("CONVERT", false, 7),
+                new OperationCountView("CONVERT", true, 2)));
+
+        counters.reconcile();
+
+        assertEquals(7, counters.successCount("CONVERT"));
+        assertEquals(2, counters.errorCount("CONVERT"));
+        assertEquals(0, counters.successCount("ADD"));
+    }
+
+    @Test
+    public void testRecorded_IncrementsMatchingSlot() {
+        QuantityMeasurementEntity success = new QuantityMeasurementEntity(
+                1, "FEET", "LengthUnit", 12, "INCHES", "LengthUnit", "ADD", 2, "FEET", "LengthUnit");
+        QuantityMeasurementEntity error = new QuantityMeasurementEntity(
+                1, "FEET", "LengthUnit", 1, "GRAM", "WeightUnit", "ADD", "Invalid unit", true);
+
+        counters.recordedAll(List.of(success, success, error));
+
+        assertEquals(2, counters.successCount("ADD"));
+        assertEquals(1, counters.errorCount("ADD"));
+    }
+
+    @Test
+    public void testReconcile_CorrectsDrift() {
+        QuantityMeasurementEntity row = new QuantityMeasurementEntity(
+                1, "FEET", "LengthUnit", 12, "INCHES", "LengthUnit", "ADD", 2, "FEET", "LengthUnit");
+        counters.recordedAll(List.of(row, row, row));
+        when(repository.countGroupedByOperationAndIsError()).thenReturn(List.of(
+                new OperationCountView("ADD", false, 5)));
+
+        counters.reconcile();
+
+        assertEquals(5, counters.successCount("ADD"));
+    }
+
+    @Test
+    public void testReconcile_CorrectsSlotThatMovesDuringQuery() {
+        QuantityMeasurementEntity row = new QuantityMeasurementEntity(
+                1, "FEET", "LengthUnit", 12, "INCHES", "LengthUnit", "ADD", 2, "FEET", "LengthUnit");
+        // 2 of 5 persisted rows never reached the counters
+        counters.recordedAll(List.of(row, row, row));
+        // a row committed after the query read is counted while it runs, but not in its result
+        when(repository.countGroupedByOperationAndIsError()).thenAnswer(invocation -> {
+            counters.recorded(row);
+            return List.of(new OperationCountView("ADD", false, 5));
+        });
+
+        counters.reconcile();
+
+        assertEquals(6, counters.successCount("ADD"));
+    }
+
+    @Test
+    public void testReconcile_OvercountDuringQueryIsBoundedAndCorrectedNextTime() {
+        QuantityMeasurementEntity row = new QuantityMeasurementEntity(
+                1, "FEET", "LengthUnit", 12, "INCHES", "LengthUnit", "ADD", 2, "FEET", "LengthUnit");
+        counters.recordedAll(List.of(row, row, row));
+        // the row recorded while the query runs is also in its result
+        when(repository.countGroupedByOperationAndIsError()).thenAnswer(invocation -> {
+            counters.recorded(row);
+            return List.of(new OperationCountView("ADD", false, 6));
+        });
+
+        counters.reconcile();
+
+        assertEquals(7, counters.successCount("ADD"));
+
+        when(repository.countGroupedByOperationAndIsError()).thenReturn(List.of(
+                new OperationCountView("ADD", false, 6)));
+
+        counters.reconcile();
+
+        assertEquals(6, counters.successCount("ADD"));
+    }
+}
@@ -0,0 +1,209 @@
+package com.app.quantitymeasurement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.quantitymeasurement.cache.ExpressionPlanCache;
+import com.app.quantitymeasurement.config.ArithmeticProperties;
+import com.app.quantitymeasurement.config.StreamProperties;
+import com.app.quantitymeasurement.dto.BulkConversionDTO;
+import com.app.quantitymeasurement.dto.QuantityDTO;
+import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.dto.QuantityOperationDTO;
+import com.app.quantitymeasurement.model.OperationType;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.service.impl.QuantityMeasurementServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import tools.jackson.databind.json.JsonMapper;
+
+public class QuantityMeasurementServiceTest {
+
+    private final List<QuantityMeasurementEntity> recorded = new ArrayList<>();
+    private final List<Integer> recordAllCalls = new ArrayList<>();
+
+    private final AuditService audit = new AuditService() {
+        @Override
+        public void record(QuantityMeasurementEntity entity) {
+            recorded.add(entity);
+        }
+
+        @Override
+        public void recordAll(List<QuantityMeasurementEntity> entities) {
+            recordAllCalls.add(entities.size());
+            recorded.addAll(entities);
+        }
+    };
+
+    private final IQuantityMeasurementService service = new QuantityMeasurementServiceImpl(
+            null, audit, null, null, new StreamProperties(), JsonMapper.builder().build(),
+            new ExpressionPlanCache(100, new SimpleMeterRegistry()),
+            new ArithmeticProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void testConvertBulk_SummaryRowKeepsCountOutOfValueColumns() {
+        service.convertBulk(new BulkConversionDTO("LengthUnit", "FEET", "INCHES", new double[] {1, 2, 3}));
+
+        assertThat(recorded).hasSize(1);
+        QuantityMeasurementEntity summary = recorded.get(0);
+        assertThat(summary.operation).isEqualTo(OperationType.BULK_CONVERT.name());
+        assertThat(summary.resultString).isEqualTo("3 values");
+        assertThat(summary.thisValue).isZero();
+        assertThat(summary.resultValue).isZero();
+    }
+
+    private static QuantityOperationDTO operation(OperationType type, QuantityDTO a, QuantityDTO b) {
+        QuantityOperationDTO dto = new QuantityOperationDTO();
+        dto.setOperation(type);
+        dto.setThisQuantityDTO(a);
+        dto.setThatQuantityDTO(b);
+        return dto;
+    }
+
+    @Test
+    void testBatch_MixedOperationsInRequestOrderWithOneAuditWrite() {
+        // enough operations for the parallel stream to split them across threads
+        List<QuantityOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            operations.add(operation(OperationType.ADD,
+                    new QuantityDTO(i, "FEET", "LengthUnit"), new QuantityDTO(12, "INCHES", "LengthUnit")));
+            operations.add(operation(OperationType.COMPARE,
+                    new QuantityDTO(1, "KILOGRAM", "WeightUnit"), new QuantityDTO(1000, "GRAM", "WeightUnit")));
+            operations.add(operation(OperationType.CONVERT,
+                    new QuantityDTO(i, "LITRE", "VolumeUnit"), new QuantityDTO(0, "MILLILITRE", "VolumeUnit")));
+        }
+
+        List<QuantityMeasurementDTO> results = service.batch(operations);
+
+        assertThat(results).hasSize(operations.size());
+        for (int i = 0; i < 200; i++) {
+            assertThat(results.get(3 * i).operation).isEqualTo("ADD");
+            assertThat(results.get(3 * i).resultValue).isEqualTo(i + 1.0);
+            assertThat(results.get(3 * i + 1).operation).isEqualTo("COMPARE");
+            assertThat(results.get(3 * i + 1).resultString).isEqualTo("true");
+            assertThat(results.get(3 * i + 2).operation).isEqualTo("CONVERT");
+            assertThat(results.get(3 * i + 2).resultValue).isEqualTo(i * 1000.0);
+        }
+        assertThat(recordAllCalls).containsExactly(operations.size());
+    }
+
+    @Test
+    void testBatch_ItemErrorsDoNotFailTheBatch() {
+        List<QuantityMeasurementDTO> results = service.batch(List.of(
+                operation(OperationType.ADD,
+                        new QuantityDTO(1, "FEET", "LengthUnit"), new QuantityDTO(1, "GRAM", "WeightUnit")),
+                operation(OperationType.DIVIDE,
+                        new QuantityDTO(1, "FEET", "LengthUnit"), new QuantityDTO(0, "INCHES", "LengthUnit")),
+                operation(OperationType.ADD,
+                        new QuantityDTO(100, "CELSIUS", "TemperatureUnit"), new QuantityDTO(1, "CELSIUS", "TemperatureUnit")),
+                operation(OperationType.SUBTRACT,
+                        new QuantityDTO(2, "FEET", "LengthUnit"), new QuantityDTO(12, "INCHES", "LengthUnit"))));
+
+        assertThat(results).extracting(result -> result.error).containsExactly(true, true, true, false);
+        assertThat(results.get(0).errorMessage).isNotBlank();
+        assertThat(results.get(3).resultValue).isEqualTo(1.0);
+        assertThat(recordAllCalls).containsExactly(4);
+        assertThat(recorded).extracting(entity -> entity.isError).containsExactly(true, true, true, false);
+    }
+
+    @Test
+    void testMultiply_LengthByLengthGivesArea() {
+        QuantityMeasurementDTO result = service.multiply(
+                new QuantityDTO(2, "FEET", "LengthUnit"), new QuantityDTO(3, "FEET", "LengthUnit"));
+
+        assertThat(result.error).isFalse();
+        assertThat(result.operation).isEqualTo("MULTIPLY");
+        assertThat(result.resultValue).isEqualTo(6.0);
+        assertThat(result.resultUnit).isEqualTo("SQUARE_FEET");
+        assertThat(result.resultMeasurementType).isEqualTo("AreaUnit");
+    }
+
+    @Test
+    void testMultiply_MixedLengthUnitsGiveAreaInBaseUnit() {
+        QuantityMeasurementDTO result = service.multiply(
+                new QuantityDTO(1, "FEET", "LengthUnit"), new QuantityDTO(6, "INCHES", "LengthUnit"));
+
+        assertThat(result.resultValue).isEqualTo(72.0);
+        assertThat(result.resultUnit).isEqualTo("SQUARE_INCHES");
+    }
+
+    @Test
+    void testMultiply_ExpressedInTargetUnit() {
+        QuantityMeasurementDTO result = service.multiply(
+                new QuantityDTO(2, "FEET", "LengthUnit"), new QuantityDTO(3, "FEET", "LengthUnit"),
+                new QuantityDTO(0, "SQUARE_INCHES", "AreaUnit"));
+
+        assertThat(result.error).isFalse();
+        assertThat(result.resultValue).isEqualTo(864.0);
+        assertThat(result.resultUnit).isEqualTo("SQUARE_INCHES");
+        assertThat(result.resultMeasurementType).isEqualTo("AreaUnit");
+    }
+
+    @Test
+    void testMultiply_TargetOfWrongDimensionIsAnError() {
+        QuantityMeasurementDTO result = service.multiply(
+                new QuantityDTO(2, "FEET", "LengthUnit"), new QuantityDTO(3, "FEET", "LengthUnit"),
+                new QuantityDTO(0, "LITRE", "VolumeUnit"));
+
+        assertThat(result.error).isTrue();
+        assertThat(result.errorMessage).contains("not convertible to LITRE");
+        assertThat(recorded).extracting(entity -> entity.isError).containsExactly(true);
+    }
+
+    @Test
+    void testMultiply_TemperatureIsRejected() {
+        QuantityMeasurementDTO result = service.multiply(
+                new QuantityDTO(10, "CELSIUS", "TemperatureUnit"), new QuantityDTO(2, "FEET", "LengthUnit"));
+
+        assertThat(result.error).isTrue();
+        assertThat(result.errorMessage).isNotBlank();
+    }
+
+    @Test
+    void testDivide_MassByVolumeIsDerived() {
+        QuantityMeasurementDTO result = service.divide(
+                new QuantityDTO(1000, "GRAM", "WeightUnit"), new QuantityDTO(1, "LITRE", "VolumeUnit"));
+
+        // no unit type for density, so the result stays in coherent units: grams per cubic inch
+        assertThat(result.error).isFalse();
+        assertThat(result.resultMeasurementType).isEqualTo("Derived");
+        assertThat(result.resultUnit).isEqualTo("GRAM*INCHES^-3");
+        assertThat(result.resultValue).isEqualTo(16.39);
+    }
+
+    @Test
+    void testDivide_AcrossTypesGivesDerivedUnitInsteadOfError() {
+        // used to fail with "Different measurement types not allowed"
+        QuantityMeasurementDTO result = service.divide(
+                new QuantityDTO(6, "SQUARE_FEET", "AreaUnit"), new QuantityDTO(2, "FEET", "LengthUnit"));
+
+        assertThat(result.error).isFalse();
+        assertThat(result.resultValue).isEqualTo(3.0);
+        assertThat(result.resultUnit).isEqualTo("FEET");
+        assertThat(result.resultMeasurementType).isEqualTo("LengthUnit");
+    }
+
+    @Test
+    void testDivide_SameTypeIsStillAPlainRatio() {
+        QuantityMeasurementDTO result = service.divide(
+                new QuantityDTO(6, "FEET", "LengthUnit"), new QuantityDTO(24, "INCHES", "LengthUnit"));
+
+        assertThat(result.error).isFalse();
+        assertThat(result.resultValue).isEqualTo(3.0);
+        assertThat(result.resultUnit).isNull();
+        assertThat(result.resultMeasurementType).isNull();
+    }
+
+    @Test
+    void testDivide_TemperatureAcrossTypesIsRejected() {
+        QuantityMeasurementDTO result = service.divide(
+                new QuantityDTO(100, "CELSIUS", "TemperatureUnit"), new QuantityDTO(2, "FEET", "LengthUnit"));
+
+        assertThat(result.error).isTrue();
+    }
+}
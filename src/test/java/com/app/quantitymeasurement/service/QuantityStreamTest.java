@@ -0,0 +1,89 @@
+package com.app.quantitymeasurement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.quantitymeasurement.cache.ExpressionPlanCache;
+import com.app.quantitymeasurement.config.ArithmeticProperties;
+import com.app.quantitymeasurement.config.StreamProperties;
+import com.app.quantitymeasurement.dto.QuantityMeasurementDTO;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.service.impl.QuantityMeasurementServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import tools.jackson.databind.json.JsonMapper;
+
+public class QuantityStreamTest {
+    private static final String ADD = """
+            {"operation":"ADD","thisQuantityDTO":{"value":1,"unit":"FEET","measurementType":"LengthUnit"},\
+            "thatQuantityDTO":{"value":12,"unit":"INCHES","measurementType":"LengthUnit"}}""";
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final List<Integer> chunks = new ArrayList<>();
+
+    private final AuditService audit = new AuditService() {
+        @Override
+        public void record(QuantityMeasurementEntity entity) {
+            chunks.add(1);
+        }
+
+        @Override
+        public void recordAll(List<QuantityMeasurementEntity> entities) {
+            chunks.add(entities.size());
+        }
+    };
+
+    private List<QuantityMeasurementDTO> stream(StreamProperties properties, String body) throws Exception {
+        IQuantityMeasurementService service = new QuantityMeasurementServiceImpl(
+                null, audit, null, null, properties, mapper, new ExpressionPlanCache(100, new SimpleMeterRegistry()),
+                new ArithmeticProperties(), new SimpleMeterRegistry());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.stream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        List<QuantityMeasurementDTO> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(mapper.readValue(line, QuantityMeasurementDTO.class));
+        }
+        return results;
+    }
+
+    @Test
+    void testStream_OneResultLinePerOperation() throws Exception {
+        List<QuantityMeasurementDTO> results = stream(new StreamProperties(), ADD + "\n\nnot json\r\n" + ADD);
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).resultValue).isEqualTo(2.0);
+        assertThat(results.get(1).error).isTrue();
+        assertThat(results.get(1).errorMessage).startsWith("Line 3: ");
+        assertThat(results.get(2).resultValue).isEqualTo(2.0);
+    }
+
+    @Test
+    void testStream_AuditRowsPersistedInChunks() throws Exception {
+        StreamProperties properties = new StreamProperties();
+        properties.setAuditChunkSize(2);
+
+        stream(properties, (ADD + "\n").repeat(5));
+
+        assertThat(chunks).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void testStream_OverlongLineEndsStream() throws Exception {
+        StreamProperties properties = new StreamProperties();
+        properties.setMaxLineBytes(ADD.length() - 1);
+
+        List<QuantityMeasurementDTO> results = stream(properties, ADD + "\n" + ADD);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).errorMessage).contains("longer than");
+    }
+}
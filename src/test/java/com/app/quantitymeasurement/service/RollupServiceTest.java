@@ -0,0 +1,138 @@
+package com.app.quantitymeasurement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.app.quantitymeasurement.config.RollupProperties;
+import com.app.quantitymeasurement.dto.StatsBucketDTO;
+import com.app.quantitymeasurement.model.OperationRollupEntity;
+import com.app.quantitymeasurement.model.QuantityMeasurementEntity;
+import com.app.quantitymeasurement.model.RollupGranularity;
+import com.app.quantitymeasurement.repository.OperationRollupRepository;
+import com.app.quantitymeasurement.service.impl.RollupServiceImpl;
+
+public class RollupServiceTest {
+
+    private final OperationRollupRepository repository = mock(OperationRollupRepository.class);
+    private final RollupService rollups = new RollupServiceImpl(
+            repository, new RollupProperties(), mock(PlatformTransactionManager.class));
+
+    private static OperationRollupEntity minute(LocalDateTime start, long count, double value) {
+        OperationRollupEntity row = new OperationRollupEntity(
+                RollupGranularity.MINUTE, start, "CONVERT", "WeightUnit", false);
+        row.merge(count, count, value * count, value, value);
+        return row;
+    }
+
+    @Test
+    public void testGetStats_SumsMinuteBucketsIntoHours() {
+        LocalDateTime hour = LocalDateTime.of(2026, 1, 5, 10, 0);
+        when(repository.findForStats(eq("CONVERT"), eq("WeightUnit"), eq(null), any(), any())).thenReturn(List.of(
+                minute(hour.plusMinutes(1), 2, 1000.0),
+                minute(hour.plusMinutes(59), 1, 4000.0),
+                minute(hour.plusHours(1), 1, 500.0)));
+
+        List<StatsBucketDTO> stats = rollups.getStats("CONVERT", "WeightUnit", null,
+                RollupGranularity.HOUR, hour, hour.plusHours(2));
+
+        assertEquals(2, stats.size());
+        assertEquals(hour, stats.get(0).bucketStart);
+        assertEquals(3, stats.get(0).count);
+        assertEquals(1000.0, stats.get(0).min);
+        assertEquals(4000.0, stats.get(0).max);
+        assertEquals(2000.0, stats.get(0).average);
+        assertEquals(1, stats.get(1).count);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCompact_FoldsOldMinutesIntoHourBucket() {
+        LocalDateTime hour = LocalDateTime.of(2026, 1, 5, 10, 0);
+        List<OperationRollupEntity> rows = List.of(minute(hour, 1, 1.0), minute(hour.plusMinutes(30), 3, 2.0));
+        when(repository.findByGranularityAndBucketStartBefore(eq(RollupGranularity.MINUTE), any())).thenReturn(rows);
+        when(repository.findByGranularityAndBucketStartBefore(eq(RollupGranularity.HOUR), any())).thenReturn(List.of());
+        when(repository.findBucket(any(), any(), anyString(), anyString(), anyBoolean())).thenReturn(Optional.empty());
+
+        rollups.compact();
+
+        ArgumentCaptor<Iterable<OperationRollupEntity>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository).saveAll(saved.capture());
+        List<OperationRollupEntity> hours = new ArrayList<>();
+        saved.getValue().forEach(hours::add);
+
+        assertEquals(1, hours.size());
+        assertEquals(RollupGranularity.HOUR, hours.get(0).granularity);
+        assertEquals(hour, hours.get(0).bucketStart);
+        assertEquals(4, hours.get(0).count);
+        assertEquals(7.0, hours.get(0).sum);
+        verify(repository).deleteAll(rows);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlush_AddsToExistingBucketsInPlaceAndInsertsNewOnes() {
+        LocalDateTime minute = LocalDateTime.of(2026, 1, 5, 10, 0);
+        QuantityMeasurementEntity kilogram = new QuantityMeasurementEntity(
+                2, "KILOGRAM", "WeightUnit", 0, "GRAM", "WeightUnit", "CONVERT", 2000, "GRAM", "WeightUnit");
+        kilogram.createdAt = minute.plusSeconds(5);
+        QuantityMeasurementEntity feet = new QuantityMeasurementEntity(
+                1, "FEET", "LengthUnit", 12, "INCHES", "LengthUnit", "ADD", 2, "FEET", "LengthUnit");
+        feet.createdAt = minute.plusSeconds(10);
+        // the CONVERT bucket already has a row, the ADD bucket does not
+        when(repository.addToBucket(eq(RollupGranularity.MINUTE), eq(minute), eq("CONVERT"), eq("WeightUnit"),
+                eq(false), anyLong(), anyLong(), anyDouble(), any(), any())).thenReturn(1);
+
+        rollups.recordedAll(List.of(kilogram, kilogram, feet));
+        rollups.flush();
+
+        verify(repository).addToBucket(RollupGranularity.MINUTE, minute, "CONVERT", "WeightUnit", false,
+                2, 2, 4000.0, 2000.0, 2000.0);
+        ArgumentCaptor<Iterable<OperationRollupEntity>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository).saveAll(saved.capture());
+        List<OperationRollupEntity> created = new ArrayList<>();
+        saved.getValue().forEach(created::add);
+
+        assertEquals(1, created.size());
+        assertEquals("ADD", created.get(0).operation);
+        assertEquals(1, created.get(0).count);
+        verify(repository, never()).findBucket(any(), any(), anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    public void testFlush_RequeuesBatchWhenAnotherNodeCreatedTheBucket() {
+        QuantityMeasurementEntity feet = new QuantityMeasurementEntity(
+                1, "FEET", "LengthUnit", 12, "INCHES", "LengthUnit", "ADD", 2, "FEET", "LengthUnit");
+        feet.createdAt = LocalDateTime.of(2026, 1, 5, 10, 0);
+        when(repository.saveAll(any())).thenThrow(new DataIntegrityViolationException("uk_rollup_bucket"));
+
+        rollups.recorded(feet);
+        rollups.flush();
+        // the bucket exists by now
+        when(repository.addToBucket(any(), any(), anyString(), anyString(), anyBoolean(),
+                anyLong(), anyLong(), anyDouble(), any(), any())).thenReturn(1);
+        rollups.flush();
+
+        verify(repository, times(2)).addToBucket(RollupGranularity.MINUTE, feet.createdAt, "ADD", "LengthUnit", false,
+                1, 1, 12.0, 12.0, 12.0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.quantitymeasurement.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BulkConversionTest {
+
+    private static double[] randomValues(int count) {
+        Random random = new Random(42);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (random.nextDouble() - 0.5) * 10_000;
+        }
+        return values;
+    }
+
+    @Test
+    void testVectorApiIsEnabledForTests() {
+        assertThat(BulkConversion.isVectorized()).isTrue();
+    }
+
+    @Test
+    void testBulkConversion_MatchesSingleConversion() {
+        // odd length so the scalar tail after the vector loop is exercised too
+        double[] values = randomValues(10_007);
+
+        double[] converted = BulkConversion.convert(values, LengthUnit.FEET, LengthUnit.CENTIMETERS);
+        double[] temperatures = BulkConversion.convert(values, TemperatureUnit.FAHRENHEIT, TemperatureUnit.CELSIUS);
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(converted[i]).isEqualTo(UnitRegistry.convert(values[i], LengthUnit.FEET, LengthUnit.CENTIMETERS));
+            assertThat(temperatures[i]).isEqualTo(UnitRegistry.convert(values[i], TemperatureUnit.FAHRENHEIT, TemperatureUnit.CELSIUS));
+        }
+    }
+
+    @Test
+    void testBulkConversion_RoundsAffineLikeSingleConversion() {
+        // a fused multiply-add rounds these to -499.96 / -499.89 instead of -499.95 / -499.88
+        double[] values = new double[64];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 2 == 0 ? -867.919 : -867.793;
+        }
+
+        double[] converted = BulkConversion.convert(values, TemperatureUnit.FAHRENHEIT, TemperatureUnit.CELSIUS);
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(converted[i]).isEqualTo(i % 2 == 0 ? -499.95 : -499.88);
+        }
+    }
+
+    @Test
+    void testBulkConversion_RoundsHalfUpLikeMathRound() {
+        double[] values = {-1.005, -0.125, -0.005, 0.0, 0.005, 0.125, 2.675, 1e300, -1e300, Double.NaN};
+
+        double[] converted = BulkConversion.convert(values, WeightUnit.GRAM, WeightUnit.GRAM);
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(converted[i]).isEqualTo(Math.round(values[i] * 100.0) / 100.0);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.quantitymeasurement.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class DimensionTest {
+
+    @Test
+    void testMultiplyAndDivide_AddAndSubtractExponentsPerLane() {
+        assertThat(Dimension.multiply(Dimension.LENGTH, Dimension.LENGTH)).isEqualTo(Dimension.AREA);
+        assertThat(Dimension.multiply(Dimension.AREA, Dimension.LENGTH)).isEqualTo(Dimension.VOLUME);
+        assertThat(Dimension.divide(Dimension.VOLUME, Dimension.LENGTH)).isEqualTo(Dimension.AREA);
+        assertThat(Dimension.divide(Dimension.AREA, Dimension.AREA)).isEqualTo(Dimension.DIMENSIONLESS);
+
+        // negative exponents must not borrow from the neighbouring lane
+        int density = Dimension.divide(Dimension.MASS, Dimension.VOLUME);
+        assertThat(density).isEqualTo(Dimension.of(-3, 1, 0));
+        assertThat(Dimension.exponent(density, Dimension.LENGTH_INDEX)).isEqualTo(-3);
+        assertThat(Dimension.exponent(density, Dimension.MASS_INDEX)).isEqualTo(1);
+        assertThat(Dimension.exponent(density, Dimension.TEMPERATURE_INDEX)).isZero();
+        assertThat(Dimension.multiply(density, Dimension.VOLUME)).isEqualTo(Dimension.MASS);
+    }
+
+    @Test
+    void testUnitFor_PrefersTheUnitTheOperandsGive() {
+        double feet = UnitRegistry.coherentScale(LengthUnit.FEET);
+        double centimeters = UnitRegistry.coherentScale(LengthUnit.CENTIMETERS);
+
+        assertThat(UnitRegistry.unitFor(Dimension.AREA, feet * feet)).isSameAs(AreaUnit.SQUARE_FEET);
+        assertThat(UnitRegistry.unitFor(Dimension.AREA, centimeters * centimeters)).isSameAs(AreaUnit.SQUARE_CENTIMETERS);
+        assertThat(UnitRegistry.unitFor(Dimension.AREA, feet * centimeters)).isSameAs(AreaUnit.SQUARE_INCHES);
+        assertThat(UnitRegistry.unitFor(Dimension.VOLUME, feet * feet * feet)).isSameAs(VolumeUnit.LITRE);
+        assertThat(UnitRegistry.unitFor(Dimension.of(-3, 1, 0), 1.0)).isNull();
+    }
+
+    @Test
+    void testCoherentUnitName() {
+        assertThat(UnitRegistry.coherentUnitName(Dimension.of(-3, 1, 0))).isEqualTo("GRAM*INCHES^-3");
+        assertThat(UnitRegistry.coherentUnitName(Dimension.AREA)).isEqualTo("INCHES^2");
+        assertThat(UnitRegistry.coherentUnitName(Dimension.DIMENSIONLESS)).isEmpty();
+    }
+}
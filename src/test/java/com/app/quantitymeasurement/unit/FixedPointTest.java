@@ -0,0 +1,54 @@
+package com.app.quantitymeasurement.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class FixedPointTest {
+
+    @Test
+    void testSupports_LinearUnitsOnly() {
+        assertThat(FixedPoint.supports(LengthUnit.CENTIMETERS)).isTrue();
+        assertThat(FixedPoint.supports(WeightUnit.MILLIGRAM)).isTrue();
+        assertThat(FixedPoint.supports(VolumeUnit.GALLON)).isTrue();
+        assertThat(FixedPoint.supports(TemperatureUnit.CELSIUS)).isFalse();
+    }
+
+    @Test
+    void testTinyQuantitiesDoNotCollapse() {
+        // the double path rounds 1 MILLIGRAM to 0.0 GRAM before comparing or adding
+        assertThat(WeightUnit.MILLIGRAM.convertToBaseUnit(1)).isZero();
+
+        assertThat(FixedPoint.compare(1, WeightUnit.MILLIGRAM, 0, WeightUnit.GRAM)).isPositive();
+        assertThat(FixedPoint.sum(1, WeightUnit.MILLIGRAM, 1, WeightUnit.MILLIGRAM, false, WeightUnit.GRAM)).isEqualTo(0.002);
+        assertThat(FixedPoint.convert(1, WeightUnit.MILLIGRAM, WeightUnit.KILOGRAM)).isEqualTo(0.000001);
+    }
+
+    @Test
+    void testChainedOperationsDoNotDrift() {
+        // 30.48 CENTIMETERS is 12.00000648 INCHES here; rounding each side to two decimals hid the difference
+        assertThat(FixedPoint.sum(1, LengthUnit.FEET, 30.48, LengthUnit.CENTIMETERS, true, LengthUnit.INCHES)).isEqualTo(-0.000006);
+        assertThat(FixedPoint.compare(0.1, LengthUnit.INCHES, 0.3, LengthUnit.INCHES)).isNegative();
+        assertThat(FixedPoint.sum(0.1, VolumeUnit.LITRE, 0.2, VolumeUnit.LITRE, false, VolumeUnit.LITRE)).isEqualTo(0.3);
+        assertThat(FixedPoint.ratio(1, LengthUnit.FEET, 3, LengthUnit.INCHES)).isEqualTo(4.0);
+    }
+
+    @Test
+    void testOverflowFallsBackToBigDecimalWithSameResult() {
+        long before = FixedPoint.fallbacks();
+
+        double large = 5e9;
+        double exact = FixedPoint.convert(large, LengthUnit.FEET, LengthUnit.INCHES);
+
+        assertThat(FixedPoint.fallbacks()).isGreaterThan(before);
+        assertThat(exact).isEqualTo(6e10);
+        assertThat(FixedPoint.compare(large, WeightUnit.TONNE, large * 1000, WeightUnit.KILOGRAM)).isZero();
+    }
+
+    @Test
+    void testRoundsHalfEvenOnce() {
+        // 1 INCHES = 2.5399986... CENTIMETERS, rounded once at the 6th decimal
+        assertThat(FixedPoint.convert(1, LengthUnit.INCHES, LengthUnit.CENTIMETERS)).isEqualTo(2.539999);
+        assertThat(FixedPoint.convertDecimal(1, LengthUnit.INCHES, LengthUnit.CENTIMETERS)).isEqualTo(2.539999);
+    }
+}
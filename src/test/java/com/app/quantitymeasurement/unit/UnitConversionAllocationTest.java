@@ -0,0 +1,70 @@
+package com.app.quantitymeasurement.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class UnitConversionAllocationTest {
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static double sink;
+
+    @BeforeAll
+    static void warmUp() {
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < 3; i++) {
+            convertTemperatures();
+            convertThroughRegistry();
+        }
+    }
+
+    private static void convertTemperatures() {
+        double total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            double celsius = TemperatureUnit.FAHRENHEIT.convertToBaseUnit(i);
+            total += TemperatureUnit.FAHRENHEIT.convertFromBaseUnit(celsius);
+        }
+        sink = total;
+    }
+
+    private static void convertThroughRegistry() {
+        double total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            total += UnitRegistry.convert(i, TemperatureUnit.CELSIUS, TemperatureUnit.FAHRENHEIT);
+            total += UnitRegistry.convert(i, LengthUnit.FEET, LengthUnit.CENTIMETERS);
+        }
+        sink = total;
+    }
+
+    private static long allocatedBytes(Runnable conversions) {
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        conversions.run();
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @Test
+    void testTemperatureConversion_DoesNotAllocate() {
+        // a boxed Double per conversion would cost ~16 MB here; allow only measurement noise
+        assertThat(allocatedBytes(UnitConversionAllocationTest::convertTemperatures)).isLessThan(1024);
+    }
+
+    @Test
+    void testRegistryConversion_DoesNotAllocate() {
+        assertThat(allocatedBytes(UnitConversionAllocationTest::convertThroughRegistry)).isLessThan(1024);
+    }
+
+    @Test
+    void testTemperatureConversion_MatchesFormula() {
+        assertThat(TemperatureUnit.FAHRENHEIT.convertToBaseUnit(212.0)).isEqualTo(100.0);
+        assertThat(TemperatureUnit.FAHRENHEIT.convertFromBaseUnit(100.0)).isEqualTo(212.0);
+        assertThat(UnitRegistry.convert(100.0, TemperatureUnit.CELSIUS, TemperatureUnit.FAHRENHEIT)).isEqualTo(212.0);
+        assertThat(UnitRegistry.convert(-40.0, TemperatureUnit.FAHRENHEIT, TemperatureUnit.CELSIUS)).isEqualTo(-40.0);
+    }
+}